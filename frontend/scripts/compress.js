@@ -0,0 +1,49 @@
+/*
+    빌드 결과물(vue.config.js 의 outputDir)을 미리 gzip / brotli 로 압축해서 옆에 둔다. (app.js -> app.js.gz, app.js.br)
+    스프링의 EncodedResourceResolver(spring.resources.chain.compressed=true)가 Accept-Encoding 에 맞는 파일을
+    Content-Encoding 과 함께 그대로 내려주므로 요청마다 압축하지 않는다.
+
+    Node 내장 zlib 만 쓴다. (brotli 는 Node 11.7 이상)
+*/
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const outputDir = path.resolve(__dirname, '..', require('../vue.config.js').outputDir);
+const extensions = ['.html', '.js', '.css', '.svg', '.json', '.txt'];
+const minSize = 1024;
+
+function compress(file) {
+    const source = fs.readFileSync(file);
+    if (source.length < minSize) {
+        return;
+    }
+
+    const encodings = [['.gz', () => zlib.gzipSync(source, {level: zlib.constants.Z_BEST_COMPRESSION})]];
+    if (zlib.brotliCompressSync) {
+        encodings.push(['.br', () => zlib.brotliCompressSync(source, {
+            params: {[zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY}
+        })]);
+    }
+
+    for (const [suffix, encode] of encodings) {
+        const encoded = encode();
+        // 거의 줄지 않으면 원본을 그대로 쓰게 둔다.
+        if (encoded.length < source.length * 0.9) {
+            fs.writeFileSync(file + suffix, encoded);
+        }
+    }
+}
+
+function walk(dir) {
+    for (const entry of fs.readdirSync(dir, {withFileTypes: true})) {
+        const file = path.join(dir, entry.name);
+        if (entry.isDirectory()) {
+            walk(file);
+        } else if (extensions.includes(path.extname(entry.name))) {
+            compress(file);
+        }
+    }
+}
+
+walk(outputDir);
@@ -1,6 +1,9 @@
+/*
+    빌드 결과물은 dist 에 두고, 메이븐이 process-resources 단계에서 jar 의 static 으로 복사한다. (pom.xml copy-frontend)
+    assetsDir(static) 아래 파일은 이름에 내용 해시가 붙으므로 WebConfig 에서 1년 immutable 로 캐시한다.
+*/
 module.exports = {
     assetsDir: "static",
-    outputDir: "../src/main/resources/static",
-    indexPath: "../static/index.html"
-
-};
\ No newline at end of file
+    outputDir: "dist",
+    filenameHashing: true
+};
@@ -0,0 +1,113 @@
+package com.patrick;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.patrick.accounts.Account;
+import com.patrick.accounts.AccountRole;
+import com.patrick.common.ErrosSerializer;
+import com.patrick.events.Event;
+import com.patrick.events.EventDto;
+import com.patrick.events.EventStatus;
+import org.springframework.hateoas.core.DefaultRelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.Errors;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/*
+    벤치마크에서 공통으로 쓰는 데이터와 ObjectMapper.
+    스프링 컨텍스트를 띄우지 않고 애플리케이션과 같은 설정으로 직접 만든다.
+*/
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Account account() {
+        return Account.builder()
+                .id(1)
+                .email("user@email.com")
+                .password("{noop}user")
+                .roles(Set.of(AccountRole.USER))
+                .build();
+    }
+
+    public static Event event(int id) {
+        Event event = Event.builder()
+                .id(id)
+                .version(3L)
+                .name("event " + id)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2019, 7, 11, 4, 30))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019, 7, 12, 4, 30))
+                .beginEventDateTime(LocalDateTime.of(2019, 7, 13, 4, 30))
+                .endEventDateTime(LocalDateTime.of(2019, 7, 14, 4, 30))
+                .location("강남역 D2 스타트업 팩토리")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .eventStatus(EventStatus.DRAFT)
+                .manager(account())
+                .build();
+        event.update();
+        return event;
+    }
+
+    public static EventDto eventDto() {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2019, 7, 11, 4, 30))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019, 7, 12, 4, 30))
+                .beginEventDateTime(LocalDateTime.of(2019, 7, 13, 4, 30))
+                .endEventDateTime(LocalDateTime.of(2019, 7, 14, 4, 30))
+                .location("강남역 D2 스타트업 팩토리")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .build();
+    }
+
+    /*
+        EventValidator 에 걸리는 입력값. (가격, 종료 일시 모두 잘못됨)
+    */
+    public static EventDto invalidEventDto() {
+        EventDto eventDto = eventDto();
+        eventDto.setBasePrice(10000);
+        eventDto.setEndEventDateTime(LocalDateTime.of(2019, 7, 10, 4, 30));
+        return eventDto;
+    }
+
+    /*
+        스프링 부트가 만들어주는 HAL ObjectMapper 와 같은 설정.
+    */
+    public static ObjectMapper halObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.registerModule(new SimpleModule().addSerializer(Errors.class, new ErrosSerializer()));
+        objectMapper.setHandlerInstantiator(
+                new Jackson2HalModule.HalHandlerInstantiator(new DefaultRelProvider(), null, null));
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return objectMapper;
+    }
+
+    /*
+        linkTo() 는 현재 요청에서 base URI 를 가져오기 때문에 요청을 하나 묶어둔다.
+    */
+    public static void bindRequest(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setServerName("localhost");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    public static void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+}
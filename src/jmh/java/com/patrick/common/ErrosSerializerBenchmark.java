@@ -0,0 +1,62 @@
+package com.patrick.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.patrick.BenchmarkFixtures;
+import com.patrick.events.EventDto;
+import com.patrick.events.EventValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    잘못된 입력값에 대한 400 응답 본문(ErrorResource + ErrosSerializer) 직렬화 비용.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class ErrosSerializerBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Errors errors;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.bindRequest("/api/events");
+        objectMapper = BenchmarkFixtures.halObjectMapper();
+
+        EventDto eventDto = BenchmarkFixtures.invalidEventDto();
+        errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        errors.rejectValue("name", "NotEmpty", "must not be empty");
+        new EventValidator().validate(eventDto, errors);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.unbindRequest();
+    }
+
+    @Benchmark
+    public byte[] serializeErrors() throws Exception {
+        return objectMapper.writeValueAsBytes(errors);
+    }
+
+    @Benchmark
+    public byte[] serializeErrorResource() throws Exception {
+        return objectMapper.writeValueAsBytes(new ErrorResource(errors));
+    }
+}
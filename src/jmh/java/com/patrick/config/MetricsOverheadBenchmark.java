@@ -0,0 +1,160 @@
+package com.patrick.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+    저장소 호출 한 번에 붙는 타이머 기록 비용. (RepositoryMetrics, TimedTokenGranter, TimedPasswordEncoder)
+
+    측정하는 일은 EventRepository.findById 가 실행하는 것과 같은 기본 키 조회이다. (H2 메모리 DB, 이벤트 1만 건)
+    JPA 와 커넥션 풀을 빼고 JDBC 로 바로 조회하므로 실제 호출보다 짧고, 그만큼 타이머 비용의 비율은 크게 나온다.
+
+    - baseline         : 측정 없이 조회만 한다.
+    - timer            : 미리 만들어둔 Timer 에 기록 (RepositoryMetrics 의 성공 경로, TimedTokenGranter)
+    - timerHistogram   : percentiles-histogram 을 켠 Timer 에 기록 (http.server.requests, repository.invocations 설정)
+    - timerPercentiles : 히스토그램에 p50/p95/p99 를 클라이언트에서 같이 계산 (이전 http.server.requests 설정)
+    - timerLookup      : 호출마다 Timer.builder(...).register() 로 찾아서 기록 (이전 TimedTokenGranter)
+
+    여러 스레드가 같은 Timer 에 기록하는 상황을 보기 위해 4 스레드로 돌린다. 스레드마다 커넥션을 하나씩 쓴다.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+@Threads(4)
+public class MetricsOverheadBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:metrics-overhead;DB_CLOSE_DELAY=-1";
+    private static final int EVENT_COUNT = 10_000;
+
+    private PrometheusMeterRegistry registry;
+    private Timer timer;
+    private Timer histogramTimer;
+    private Timer percentilesTimer;
+    private Connection schema;
+
+    @State(Scope.Thread)
+    public static class Lookup {
+
+        private Connection connection;
+        private PreparedStatement findById;
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            connection = DriverManager.getConnection(URL);
+            findById = connection.prepareStatement(
+                    "select id, name, description, base_price, max_price, limit_of_enrollment from event where id = ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+
+        String findById() throws SQLException {
+            findById.setInt(1, ThreadLocalRandom.current().nextInt(EVENT_COUNT));
+            try (ResultSet resultSet = findById.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(2) : null;
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        schema = DriverManager.getConnection(URL);
+        try (Statement statement = schema.createStatement()) {
+            statement.execute("create table event (id int primary key, name varchar(255), description varchar(255),"
+                    + " base_price int, max_price int, limit_of_enrollment int)");
+            statement.execute("insert into event select x, 'event ' || x, 'REST API Development with Spring', 100, 200, 100"
+                    + " from system_range(0, " + (EVENT_COUNT - 1) + ")");
+        }
+
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        timer = Timer.builder("benchmark.plain")
+                .tag("method", "findById")
+                .register(registry);
+        histogramTimer = Timer.builder("benchmark.histogram")
+                .tag("method", "findById")
+                .publishPercentileHistogram()
+                .register(registry);
+        percentilesTimer = Timer.builder("benchmark.percentiles")
+                .tag("method", "findById")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = schema.createStatement()) {
+            statement.execute("drop table event");
+        }
+        schema.close();
+    }
+
+    @Benchmark
+    public String baseline(Lookup lookup) throws SQLException {
+        return lookup.findById();
+    }
+
+    @Benchmark
+    public String timer(Lookup lookup) throws SQLException {
+        long start = System.nanoTime();
+        String name = lookup.findById();
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return name;
+    }
+
+    @Benchmark
+    public String timerHistogram(Lookup lookup) throws SQLException {
+        long start = System.nanoTime();
+        String name = lookup.findById();
+        histogramTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return name;
+    }
+
+    @Benchmark
+    public String timerPercentiles(Lookup lookup) throws SQLException {
+        long start = System.nanoTime();
+        String name = lookup.findById();
+        percentilesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return name;
+    }
+
+    @Benchmark
+    public String timerLookup(Lookup lookup) throws SQLException {
+        long start = System.nanoTime();
+        String name = lookup.findById();
+        Timer.builder("benchmark.lookup")
+                .tag("grant.type", "password")
+                .tag("outcome", "success")
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return name;
+    }
+}
@@ -0,0 +1,120 @@
+package com.patrick.config;
+
+import com.patrick.BenchmarkFixtures;
+import com.patrick.accounts.AccountAdapter;
+import com.patrick.accounts.AccountUserAuthenticationConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+    리소스 서버가 bearer 토큰 하나를 인증으로 바꾸는 비용. (DefaultTokenServices.loadAuthentication)
+
+    - inMemory : 이전에 쓰던 InMemoryTokenStore 조회
+    - expiring : ExpiringTokenStore 조회 (token-mode=store)
+    - jwt      : 서명 확인 + claim 에서 AccountAdapter 생성 (token-mode=jwt)
+
+    여러 스레드가 동시에 같은 저장소를 조회하는 상황을 보기 위해 4 스레드로 돌린다.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+@Threads(4)
+public class TokenVerificationBenchmark {
+
+    private ExpiringTokenStore expiringTokenStore;
+
+    private DefaultTokenServices inMemoryTokenServices;
+    private DefaultTokenServices expiringTokenServices;
+    private DefaultTokenServices jwtTokenServices;
+
+    private String inMemoryToken;
+    private String expiringToken;
+    private String jwtToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        OAuth2Authentication authentication = authentication();
+
+        inMemoryTokenServices = tokenServices(new InMemoryTokenStore());
+        inMemoryToken = inMemoryTokenServices.createAccessToken(authentication).getValue();
+
+        expiringTokenStore = new ExpiringTokenStore(100_000, Duration.ofMinutes(10), Duration.ofMinutes(60),
+                Duration.ofMinutes(1), Clock.systemUTC());
+        expiringTokenServices = tokenServices(expiringTokenStore);
+        expiringToken = expiringTokenServices.createAccessToken(authentication).getValue();
+
+        DefaultAccessTokenConverter accessTokenConverter = new DefaultAccessTokenConverter();
+        accessTokenConverter.setUserTokenConverter(new AccountUserAuthenticationConverter());
+        JwtAccessTokenConverter jwtAccessTokenConverter = new JwtAccessTokenConverter();
+        jwtAccessTokenConverter.setSigningKey("benchmark-signing-key");
+        jwtAccessTokenConverter.setAccessTokenConverter(accessTokenConverter);
+        jwtAccessTokenConverter.afterPropertiesSet();
+
+        jwtTokenServices = tokenServices(new JwtTokenStore(jwtAccessTokenConverter));
+        jwtTokenServices.setTokenEnhancer(jwtAccessTokenConverter);
+        jwtToken = jwtTokenServices.createAccessToken(authentication).getValue();
+    }
+
+    @TearDown
+    public void tearDown() {
+        expiringTokenStore.close();
+    }
+
+    private static DefaultTokenServices tokenServices(TokenStore tokenStore) {
+        DefaultTokenServices tokenServices = new DefaultTokenServices();
+        tokenServices.setTokenStore(tokenStore);
+        tokenServices.setSupportRefreshToken(true);
+        return tokenServices;
+    }
+
+    private static OAuth2Authentication authentication() {
+        AccountAdapter principal = new AccountAdapter(BenchmarkFixtures.account());
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", principal.getAuthorities(),
+                true, Set.of("read", "write"), Set.of(), null, Set.of(), Map.of());
+        return new OAuth2Authentication(request,
+                new UsernamePasswordAuthenticationToken(principal, "N/A", principal.getAuthorities()));
+    }
+
+    @Benchmark
+    public OAuth2Authentication inMemory() {
+        return inMemoryTokenServices.loadAuthentication(inMemoryToken);
+    }
+
+    @Benchmark
+    public OAuth2Authentication expiring() {
+        return expiringTokenServices.loadAuthentication(expiringToken);
+    }
+
+    @Benchmark
+    public OAuth2Authentication jwt() {
+        return jwtTokenServices.loadAuthentication(jwtToken);
+    }
+}
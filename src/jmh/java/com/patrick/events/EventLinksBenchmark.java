@@ -0,0 +1,86 @@
+package com.patrick.events;
+
+import com.patrick.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+
+/*
+    목록 한 페이지(pageSize 개)의 링크를 만드는 비용.
+
+    - controllerLinkBuilder : 이전 방식. 이벤트마다 linkTo() 로 self 링크, 페이지마다 profile Link 생성
+    - eventLinks            : EventLinks. base URI 는 요청당 한 번, profile 은 상수
+
+    요청마다 base URI 를 다시 계산하는 비용도 포함되도록 호출마다 새 요청을 묶는다.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class EventLinksBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<Event> page;
+    private EventLinks eventLinks;
+
+    @Setup
+    public void setUp() {
+        page = IntStream.rangeClosed(1, pageSize)
+                .mapToObj(BenchmarkFixtures::event)
+                .collect(Collectors.toList());
+        eventLinks = new EventLinks();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.unbindRequest();
+    }
+
+    @Benchmark
+    public List<EventResource> controllerLinkBuilder() {
+        BenchmarkFixtures.bindRequest("/api/events");
+
+        List<EventResource> resources = new ArrayList<>(page.size());
+        for (Event event : page) {
+            resources.add(new EventResource(event, linkTo(EventController.class).slash(event.getId()).withSelfRel()));
+        }
+        resources.get(0).add(new Link("/docs/index.html/#resources-events-list").withRel("profile"));
+        resources.get(0).add(linkTo(EventController.class).withRel("create-event"));
+        return resources;
+    }
+
+    @Benchmark
+    public List<EventResource> eventLinks() {
+        BenchmarkFixtures.bindRequest("/api/events");
+
+        List<EventResource> resources = new ArrayList<>(page.size());
+        for (Event event : page) {
+            resources.add(eventLinks.toResource(event));
+        }
+        resources.get(0).add(EventLinks.PROFILE_LIST);
+        resources.get(0).add(eventLinks.events("create-event"));
+        return resources;
+    }
+}
@@ -0,0 +1,70 @@
+package com.patrick.events;
+
+import com.patrick.BenchmarkFixtures;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    createEvent / updateEvent 의 DTO 변환 비용.
+    AppConfig 의 ModelMapper 빈과 EventMapper 를 같은 입력으로 비교한다.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class EventMappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private EventMapper eventMapper;
+    private EventDto eventDto;
+    private Event existingEvent;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        eventMapper = new EventMapper();
+        eventDto = BenchmarkFixtures.eventDto();
+        existingEvent = BenchmarkFixtures.event(1);
+
+        // 타입 맵은 첫 호출때 만들어지므로 측정 전에 한 번씩 호출해 둔다.
+        modelMapper.map(eventDto, Event.class);
+        modelMapper.map(eventDto, existingEvent);
+    }
+
+    @Benchmark
+    public Event modelMapperCreate() {
+        Event event = modelMapper.map(eventDto, Event.class);
+        event.update();
+        return event;
+    }
+
+    @Benchmark
+    public Event eventMapperCreate() {
+        return eventMapper.toEvent(eventDto);
+    }
+
+    @Benchmark
+    public Event modelMapperUpdate() {
+        modelMapper.map(eventDto, existingEvent);
+        return existingEvent;
+    }
+
+    @Benchmark
+    public Event eventMapperUpdate() {
+        eventMapper.update(eventDto, existingEvent);
+        return existingEvent;
+    }
+}
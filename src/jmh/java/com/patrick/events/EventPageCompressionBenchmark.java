@@ -0,0 +1,112 @@
+package com.patrick.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.patrick.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.PagedResources;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/*
+    queryEvents 한 페이지(HAL JSON)를 gzip 으로 압축하는 CPU 비용과 줄어드는 바이트.
+
+    - serialize : 압축 없이 직렬화만 (비교 기준)
+    - gzip      : 직렬화 + gzip. level 6 이 톰캣 server.compression 과 같은 기본 압축 수준이다.
+
+    bytes 카운터의 rawBytes / gzipBytes 가 압축률이다. (같은 링크 구조가 반복돼서 크게 줄어든다)
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class EventPageCompressionBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"1", "6", "9"})
+    private int level;
+
+    private ObjectMapper objectMapper;
+    private PagedResources<EventResource> page;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Bytes {
+
+        public long rawBytes;
+        public long gzipBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rawBytes = 0;
+            gzipBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.bindRequest("/api/events");
+        objectMapper = BenchmarkFixtures.halObjectMapper();
+
+        EventLinks eventLinks = new EventLinks();
+        List<EventResource> content = new ArrayList<>(pageSize);
+        for (int id = 1; id <= pageSize; id++) {
+            content.add(eventLinks.toResource(BenchmarkFixtures.event(id)));
+        }
+        page = new PagedResources<>(content, new PagedResources.PageMetadata(pageSize, 0, pageSize * 10L));
+        page.add(EventLinks.PROFILE_LIST);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.unbindRequest();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] gzip(Bytes bytes) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(page);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new LevelGZIPOutputStream(out, level)) {
+            gzip.write(json);
+        }
+
+        bytes.rawBytes += json.length;
+        bytes.gzipBytes += out.size();
+        return out.toByteArray();
+    }
+
+    private static class LevelGZIPOutputStream extends GZIPOutputStream {
+
+        LevelGZIPOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.patrick.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.patrick.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    getEvent 한 번에 해당하는 EventResource 생성과 HAL JSON 직렬화 비용.
+    (manager 는 AccountSerializer 로 직렬화된다)
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class EventResourceBenchmark {
+
+    private Event event;
+    private EventResource eventResource;
+    private ObjectMapper objectMapper;
+    private EventLinks eventLinks;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.bindRequest("/api/events/1");
+        event = BenchmarkFixtures.event(1);
+        objectMapper = BenchmarkFixtures.halObjectMapper();
+        eventLinks = new EventLinks();
+        eventResource = buildResource();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.unbindRequest();
+    }
+
+    @Benchmark
+    public EventResource construct() {
+        return buildResource();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(eventResource);
+    }
+
+    @Benchmark
+    public byte[] constructAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(buildResource());
+    }
+
+    private EventResource buildResource() {
+        EventResource resource = eventLinks.toResource(event);
+        resource.add(EventLinks.PROFILE_GET);
+        resource.add(eventLinks.update(event));
+        return resource;
+    }
+}
@@ -0,0 +1,90 @@
+package com.patrick.events;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/*
+    EventTextIndex.search 지연 시간 분포. (SampleTime 모드라 p99 가 결과에 같이 나온다)
+    이벤트 100만 건을 단어 5000개로 만든 이름/설명으로 색인해둔다.
+
+    - rareTerm   : 몇 백 건에만 나오는 단어
+    - commonTerm : 대부분의 이벤트에 나오는 단어
+    - twoTerms   : 두 단어 모두 포함 (AND)
+    - prefix     : 접두어 검색
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 3, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class EventTextSearchBenchmark {
+
+    private static final int VOCABULARY = 5_000;
+
+    @Param("1000000")
+    private int eventCount;
+
+    private EventTextIndex index;
+    private Pageable firstPage;
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        index = new EventTextIndex();
+        index.rebuild(IntStream.range(0, eventCount).mapToObj(i -> Event.builder()
+                .id(i)
+                .name("event " + word(random) + " " + word(random))
+                .description("spring " + word(random) + " " + word(random) + " " + word(random) + " " + word(random))
+                .build()));
+        firstPage = PageRequest.of(0, 20);
+    }
+
+    // 앞쪽 단어가 더 자주 나오도록 치우치게 고른다.
+    private static String word(Random random) {
+        int rank = (int) Math.min(VOCABULARY - 1, Math.abs(random.nextGaussian()) * VOCABULARY / 3);
+        return "w" + rank;
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        index.destroy();
+    }
+
+    @Benchmark
+    public Slice<Integer> rareTerm() {
+        return index.search("w4000", firstPage);
+    }
+
+    @Benchmark
+    public Slice<Integer> commonTerm() {
+        return index.search("spring", firstPage);
+    }
+
+    @Benchmark
+    public Slice<Integer> twoTerms() {
+        return index.search("w10 w20", firstPage);
+    }
+
+    @Benchmark
+    public Slice<Integer> prefix() {
+        return index.search("w12*", firstPage);
+    }
+}
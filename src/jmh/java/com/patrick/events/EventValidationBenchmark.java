@@ -0,0 +1,63 @@
+package com.patrick.events;
+
+import com.patrick.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    EventValidator.validate 와 Event.update() 비용.
+    Errors 는 요청마다 새로 만들어지므로 매번 생성한다.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class EventValidationBenchmark {
+
+    private EventValidator eventValidator;
+    private EventDto validDto;
+    private EventDto invalidDto;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        eventValidator = new EventValidator();
+        validDto = BenchmarkFixtures.eventDto();
+        invalidDto = BenchmarkFixtures.invalidEventDto();
+        event = BenchmarkFixtures.event(1);
+    }
+
+    @Benchmark
+    public Errors validateValid() {
+        Errors errors = new BeanPropertyBindingResult(validDto, "eventDto");
+        eventValidator.validate(validDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors validateInvalid() {
+        Errors errors = new BeanPropertyBindingResult(invalidDto, "eventDto");
+        eventValidator.validate(invalidDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Event update() {
+        event.update();
+        return event;
+    }
+}
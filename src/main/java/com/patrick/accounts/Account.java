@@ -7,11 +7,14 @@ import javax.persistence.*;
 import java.util.Set;
 
 @Entity
+@EntityListeners(AccountCacheInvalidator.class)
 @Getter @Setter @EqualsAndHashCode(of = "id")
 @Builder @NoArgsConstructor @AllArgsConstructor
 public class Account {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
     private Integer id;
 
     @Column(unique = true)
@@ -19,7 +22,11 @@ public class Account {
 
     private String password;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    /*
+        이벤트의 manager 로 읽을 때는 필요 없으므로 LAZY 로 두고,
+        로그인(findByEmail)에서만 EntityGraph 로 같이 읽는다.
+    */
+    @ElementCollection
     @Enumerated(EnumType.STRING)
     private Set<AccountRole> roles;
 }
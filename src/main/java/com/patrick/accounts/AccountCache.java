@@ -0,0 +1,96 @@
+package com.patrick.accounts;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.patrick.config.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/*
+    loadUserByUsername 용 계정 캐시. (email -> Account)
+
+    AccountAdapter 는 인증이 끝나면 ProviderManager 가 비밀번호를 지워버리기 때문에(eraseCredentials)
+    AccountAdapter 가 아니라 Account 스냅샷을 캐시하고, 꺼낼 때마다 복사본을 준다.
+*/
+@Component
+public class AccountCache implements MeterBinder {
+
+    private final Cache<String, Account> cache;
+
+    public AccountCache(AppProperties appProperties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(appProperties.getAccountCacheMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(appProperties.getAccountCacheExpireAfterWriteSeconds()))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Account> get(String email, Function<String, Optional<Account>> loader) {
+        // 없는 계정은 캐시하지 않는다.
+        Account account = cache.get(email, key -> loader.apply(key).map(AccountCache::copy).orElse(null));
+        return Optional.ofNullable(account).map(AccountCache::copy);
+    }
+
+    /*
+        커밋 전에 지우면 그 사이에 다른 스레드가 커밋 전 값(이전 비밀번호)을 다시 읽어 캐시할 수 있다.
+        그래서 트랜잭션 안이면 트랜잭션이 끝난 뒤에 지운다.
+        (Caffeine 은 같은 키를 읽어오는 중이면 invalidate 가 끝날 때까지 기다리므로, 커밋 뒤에 지우면 이전 값이 남지 않는다)
+    */
+    public void evictAfterCommit(Account account) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(account);
+                }
+            });
+        } else {
+            evict(account);
+        }
+    }
+
+    public void evict(Account account) {
+        cache.invalidate(account.getEmail());
+
+        // 이메일이 바뀐 경우 이전 이메일로 캐시된 항목도 지운다.
+        if (account.getId() != null) {
+            cache.asMap().values().removeIf(cached -> account.getId().equals(cached.getId()));
+        }
+    }
+
+    /*
+        cache.gets(hit/miss), cache.evictions, cache.size 를 cache=accounts 태그로 노출한다.
+    */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "accounts");
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static Account copy(Account account) {
+        return Account.builder()
+                .id(account.getId())
+                .email(account.getEmail())
+                .password(account.getPassword())
+                .roles(account.getRoles() == null ? new HashSet<>() : Set.copyOf(account.getRoles()))
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.patrick.accounts;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/*
+    AccountService 를 거치지 않고 AccountRepository 로 직접 비밀번호나 이메일을 바꿔도
+    AccountCache 에 이전 값이 남지 않도록 한다.
+
+    roles(@ElementCollection) 만 바뀌면 Account 자체는 update 되지 않아서 @PostUpdate 가 불리지 않는다.
+    권한 변경은 AccountRolesInvalidator 가 컬렉션 이벤트로 지운다.
+*/
+public class AccountCacheInvalidator {
+
+    @Autowired
+    AccountCache accountCache;
+
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Account account) {
+        accountCache.evictAfterCommit(account);
+    }
+}
@@ -1,9 +1,11 @@
 package com.patrick.accounts;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account,Integer> {
 
+    @EntityGraph(attributePaths = "roles")
     Optional<Account> findByEmail(String username);
 }
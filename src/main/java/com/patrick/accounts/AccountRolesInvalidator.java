@@ -0,0 +1,65 @@
+package com.patrick.accounts;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/*
+    roles(@ElementCollection) 만 바뀌면 account 행은 update 되지 않아서 AccountCacheInvalidator(@PostUpdate)가 불리지 않는다.
+    AccountRepository 로 권한만 바꿔도(ADMIN 회수 등) 캐시 TTL 동안 이전 권한이 남지 않도록
+    Hibernate 의 컬렉션 이벤트로 같은 계정을 캐시에서 지운다.
+*/
+@Component
+public class AccountRolesInvalidator implements PostCollectionUpdateEventListener,
+        PostCollectionRecreateEventListener, PostCollectionRemoveEventListener {
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    AccountCache accountCache;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        invalidate(event);
+    }
+
+    private void invalidate(AbstractCollectionEvent event) {
+        Object owner = event.getAffectedOwnerOrNull();
+        if (owner instanceof Account) {
+            accountCache.evictAfterCommit((Account) owner);
+        }
+    }
+}
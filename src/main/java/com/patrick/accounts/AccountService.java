@@ -23,15 +23,20 @@ public class AccountService implements UserDetailsService {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    AccountCache accountCache;
+
     public Account saveAccount(Account account){
         account.setPassword(this.passwordEncoder.encode(account.getPassword()));
-        return this.accountRepository.save(account);
+        Account saved = this.accountRepository.save(account);
+        this.accountCache.evictAfterCommit(saved);
+        return saved;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
-        Account account = accountRepository.findByEmail(username)
+        Account account = accountCache.get(username, accountRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException(username));
 
         //return new User(account.getEmail(),account.getPassword(),authorities(account.getRoles()));
@@ -0,0 +1,67 @@
+package com.patrick.accounts;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.provider.token.DefaultUserAuthenticationConverter;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+    JWT 모드에서 토큰 안에 계정 id 와 권한을 넣고, 토큰만으로 AccountAdapter 를 다시 만든다.
+
+    토큰에서 만든 Account 에는 id, email, roles 만 들어있다. (비밀번호는 없음)
+    @CurrentUser 로 받은 Account 는 id 로 비교(equals)하거나 연관관계(manager)에 넣는 용도로만 쓴다.
+*/
+public class AccountUserAuthenticationConverter extends DefaultUserAuthenticationConverter {
+
+    public static final String ACCOUNT_ID = "account_id";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @Override
+    public Map<String, ?> convertUserAuthentication(Authentication authentication) {
+        Map<String, Object> response = new LinkedHashMap<>(super.convertUserAuthentication(authentication));
+        if (authentication.getPrincipal() instanceof AccountAdapter) {
+            response.put(ACCOUNT_ID, ((AccountAdapter) authentication.getPrincipal()).getAccount().getId());
+        }
+        return response;
+    }
+
+    @Override
+    public Authentication extractAuthentication(Map<String, ?> map) {
+        if (!map.containsKey(USERNAME) || !(map.get(ACCOUNT_ID) instanceof Number)) {
+            return super.extractAuthentication(map);
+        }
+
+        Account account = Account.builder()
+                .id(((Number) map.get(ACCOUNT_ID)).intValue())
+                .email((String) map.get(USERNAME))
+                .password("")
+                .roles(roles(map.get(AUTHORITIES)))
+                .build();
+
+        AccountAdapter principal = new AccountAdapter(account);
+        return new UsernamePasswordAuthenticationToken(principal, "N/A", principal.getAuthorities());
+    }
+
+    private Set<AccountRole> roles(Object authorities) {
+        Stream<String> names;
+        if (authorities instanceof String) {
+            names = Stream.of(((String) authorities).split(","));
+        } else if (authorities instanceof Collection) {
+            names = ((Collection<?>) authorities).stream().map(Object::toString);
+        } else {
+            return Set.of();
+        }
+
+        return names.map(String::trim)
+                .filter(name -> name.startsWith(ROLE_PREFIX))
+                .map(name -> AccountRole.valueOf(name.substring(ROLE_PREFIX.length())))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,198 @@
+package com.patrick.admin;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.patrick.accounts.AccountCache;
+import com.patrick.config.ExpiringTokenStore;
+import com.patrick.config.RateLimiter;
+import com.patrick.config.RequestExecutor;
+import com.patrick.config.SqlTrace;
+import com.patrick.events.EventCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+    운영용 엔드포인트. ResourceServerConfig 에서 ADMIN 권한만 접근하도록 막아둔다.
+*/
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    @Autowired
+    EventCache eventCache;
+
+    @Autowired
+    AccountCache accountCache;
+
+    // JWT 모드에서는 저장소가 없다.
+    @Autowired(required = false)
+    ExpiringTokenStore tokenStore;
+
+    @Autowired
+    List<RequestExecutor> requestExecutors;
+
+    @Autowired
+    RateLimiter rateLimiter;
+
+    @Autowired
+    FlightRecordings flightRecordings;
+
+    // my-app.sql-trace-enabled=false 이면 없다.
+    @Autowired(required = false)
+    SqlTrace sqlTrace;
+
+    @GetMapping("/caches")
+    public Map<String, Object> caches(){
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("events", cacheStats(eventCache.stats(), eventCache.size()));
+        caches.put("accounts", cacheStats(accountCache.stats(), accountCache.size()));
+        return caches;
+    }
+
+    @GetMapping("/tokens")
+    public ResponseEntity<Map<String, Object>> tokens(){
+        if (tokenStore == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("capacity", tokenStore.getCapacity());
+        result.put("accessTokens", tokenStore.getAccessTokenCount());
+        result.put("refreshTokens", tokenStore.getRefreshTokenCount());
+        result.put("expiredEvictionCount", tokenStore.getExpiredEvictionCount());
+        result.put("capacityEvictionCount", tokenStore.getCapacityEvictionCount());
+        result.put("lookupMissCount", tokenStore.getLookupMissCount());
+        return ResponseEntity.ok(result);
+    }
+
+    /*
+        요청 작업 풀의 포화 상태. queueSize 가 queueCapacity 에 가까우면 곧 503 이 나가기 시작한다.
+    */
+    @GetMapping("/executors")
+    public Map<String, Object> executors(){
+        Map<String, Object> executors = new LinkedHashMap<>();
+        for (RequestExecutor executor : requestExecutors) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("poolSize", executor.getPoolSize());
+            result.put("maxPoolSize", executor.getMaxPoolSize());
+            result.put("activeCount", executor.getActiveCount());
+            result.put("queueSize", executor.getQueueSize());
+            result.put("queueCapacity", executor.getQueueCapacity());
+            result.put("completedTaskCount", executor.getCompletedTaskCount());
+            result.put("rejectedCount", executor.getRejectedCount());
+            result.put("timeoutCount", executor.getTimeoutCount());
+            result.put("timeoutMillis", executor.getTimeout().toMillis());
+            executors.put(executor.getName(), result);
+        }
+        return executors;
+    }
+
+    @GetMapping("/rate-limits")
+    public Map<String, Object> rateLimits(){
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("buckets", rateLimiter.getBucketCount());
+        result.put("rules", rateLimiter.getRuleStats());
+        return result;
+    }
+
+    /*
+        최근에 실행된 SQL. slow 는 바인드 값까지 있고, sampled 는 일부만 골라둔 것이라 개수는 statementCount 로 본다.
+    */
+    @GetMapping("/sql")
+    public ResponseEntity<Map<String, Object>> sql(@RequestParam(defaultValue = "50") int limit){
+        if (sqlTrace == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sampleRate", sqlTrace.getSampleRate());
+        result.put("slowThresholdMillis", sqlTrace.getSlowThresholdMillis());
+        result.put("statementCount", sqlTrace.getStatementCount());
+        result.put("sampledCount", sqlTrace.getSampledCount());
+        result.put("slowCount", sqlTrace.getSlowCount());
+        result.put("slow", sqlTrace.slow(limit));
+        result.put("sampled", sqlTrace.sampled(limit));
+        return ResponseEntity.ok(result);
+    }
+
+    /*
+        JFR 기록을 시작한다. 이미 기록 중이면 409.
+        EventApiPhase, RepositoryCall, RequestDispatch 이벤트로 요청 시간이 어디에 쓰였는지 나눠 볼 수 있다.
+    */
+    @PostMapping("/recording")
+    public ResponseEntity<Map<String, Object>> startRecording(@RequestParam(defaultValue = "60") long durationSeconds,
+                                                              @RequestParam(defaultValue = "default") String settings)
+            throws IOException, ParseException {
+        if (durationSeconds <= 0 || !FlightRecordings.SETTINGS.contains(settings)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(flightRecordings.start(Duration.ofSeconds(durationSeconds), settings));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(flightRecordings.status().orElse(null));
+        }
+    }
+
+    @GetMapping("/recording")
+    public ResponseEntity<Map<String, Object>> recording(){
+        return ResponseEntity.of(flightRecordings.status());
+    }
+
+    /*
+        기록을 멈추고 .jfr 파일로 내려준다. (JDK Mission Control 이나 jfr print 로 연다)
+    */
+    @DeleteMapping("/recording")
+    public ResponseEntity<StreamingResponseBody> stopRecording() throws IOException {
+        Optional<Path> file = flightRecordings.stop();
+        if (file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Path path = file.get();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(path, out);
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(path))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+                        .filename("recording.jfr").build().toString())
+                .body(body);
+    }
+
+    private Map<String, Object> cacheStats(CacheStats stats, long size){
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", size);
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+}
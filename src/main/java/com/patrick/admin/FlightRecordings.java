@@ -0,0 +1,103 @@
+package com.patrick.admin;
+
+import com.patrick.config.AppProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/*
+    운영 중에 켜고 끄는 JFR 기록 하나. (/admin/recording)
+
+    기록 길이와 크기는 AppProperties 의 상한을 넘지 못하고, 시간이 지나면 기록이 멈춘 채로 남아있다가
+    stop() 에서 파일로 꺼내고 닫힌다. 멈춘 기록을 꺼내지 않고 새로 시작하면 이전 기록은 버린다.
+
+    settings 는 JDK 에 들어있는 설정 이름이다.
+    default 는 상시 켜둘 수 있는 정도(1% 이하)이고, profile 은 메서드 샘플링이 더 잦아서 짧게만 쓴다.
+*/
+@Component
+public class FlightRecordings {
+
+    public static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    @Autowired
+    AppProperties appProperties;
+
+    private Recording recording;
+
+    /*
+        이미 기록 중이면 IllegalStateException.
+    */
+    public synchronized Map<String, Object> start(Duration duration, String settings) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("Recording is already running");
+        }
+        closeRecording();
+
+        Duration maxDuration = Duration.ofSeconds(appProperties.getRecordingMaxDurationSeconds());
+        Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+        newRecording.setName("admin-" + settings);
+        newRecording.setDuration(duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        newRecording.setMaxSize(appProperties.getRecordingMaxSizeBytes());
+        newRecording.setToDisk(true);
+        newRecording.start();
+
+        recording = newRecording;
+        return describe(recording);
+    }
+
+    public synchronized Optional<Map<String, Object>> status() {
+        return Optional.ofNullable(recording).map(FlightRecordings::describe);
+    }
+
+    /*
+        기록을 멈추고 임시 파일로 꺼낸다. 파일은 호출한 쪽에서 지운다. 기록이 없으면 empty.
+    */
+    public synchronized Optional<Path> stop() throws IOException {
+        if (recording == null) {
+            return Optional.empty();
+        }
+
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            Path file = Files.createTempFile("recording-", ".jfr");
+            recording.dump(file);
+            return Optional.of(file);
+        } finally {
+            closeRecording();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", recording.getName());
+        result.put("state", recording.getState());
+        result.put("startTime", recording.getStartTime());
+        result.put("durationSeconds", recording.getDuration() == null ? null : recording.getDuration().getSeconds());
+        result.put("maxSizeBytes", recording.getMaxSize());
+        result.put("sizeBytes", recording.getSize());
+        return result;
+    }
+}
@@ -5,13 +5,11 @@ import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Resource;
 import org.springframework.validation.Errors;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
-
 public class ErrorResource extends Resource<Errors>{
 
     public ErrorResource(Errors content, Link... links) {
         super(content, links);
-        add(linkTo(methodOn(IndexController.class).index()).withRel("index"));
+        // 작업 스레드에서도 만들 수 있도록 linkTo 대신 요청 스레드에서 계산해둔 base URI 를 쓴다.
+        add(new Link(RequestUris.current().getBaseUri() + IndexController.PATH, "index"));
     }
 }
@@ -0,0 +1,94 @@
+package com.patrick.common;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/*
+    링크를 만들 때 필요한 요청 주소만 담은 불변 값.
+
+    HttpServletRequest 는 요청이 끝나면 톰캣이 재사용하므로 다른 스레드에서 읽으면 안 된다.
+    요청 스레드에서 주소를 미리 계산해두고, 작업 스레드에는 이 값만 넘긴다. (RequestExecutor)
+
+    - baseUri : scheme://host:port/contextPath (X-Forwarded-* 헤더 반영)
+    - requestUri : 현재 요청 주소와 query string
+*/
+public final class RequestUris {
+
+    private static final String ATTRIBUTE = RequestUris.class.getName();
+
+    private static final ThreadLocal<RequestUris> BOUND = new ThreadLocal<>();
+
+    private final String baseUri;
+    private final String requestUri;
+
+    public RequestUris(String baseUri, String requestUri) {
+        this.baseUri = baseUri;
+        this.requestUri = requestUri;
+    }
+
+    /*
+        작업 스레드면 넘겨받은 값을, 요청 스레드면 현재 요청에서 한 번만 계산해서 요청 속성에 넣어둔 값을 돌려준다.
+    */
+    public static RequestUris current() {
+        RequestUris bound = BOUND.get();
+        if (bound != null) {
+            return bound;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            throw new IllegalStateException("No request URIs bound to thread " + Thread.currentThread().getName());
+        }
+        RequestUris uris = (RequestUris) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (uris == null) {
+            uris = new RequestUris(ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString(),
+                    ServletUriComponentsBuilder.fromCurrentRequest().build().toUriString());
+            attributes.setAttribute(ATTRIBUTE, uris, RequestAttributes.SCOPE_REQUEST);
+        }
+        return uris;
+    }
+
+    /*
+        요청 스레드에서 부르면 현재 요청의 값을, 요청 밖(스케줄러 등)에서 부르면 null 을 돌려준다.
+    */
+    public static RequestUris capture() {
+        if (BOUND.get() == null && RequestContextHolder.getRequestAttributes() == null) {
+            return null;
+        }
+        return current();
+    }
+
+    /*
+        작업 스레드에서 uris 를 현재 값으로 두고 task 를 실행한다.
+    */
+    public static void runWith(RequestUris uris, Runnable task) {
+        RequestUris previous = BOUND.get();
+        BOUND.set(uris);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        }
+    }
+
+    public String getBaseUri() {
+        return baseUri;
+    }
+
+    public String getRequestUri() {
+        return requestUri;
+    }
+
+    /*
+        현재 요청 주소에서 query 파라미터만 바꿀 때 쓴다.
+    */
+    public UriComponentsBuilder requestUriBuilder() {
+        return UriComponentsBuilder.fromUriString(requestUri);
+    }
+}
@@ -0,0 +1,36 @@
+package com.patrick.common;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Resources;
+
+/*
+    count 쿼리 없이 조회한 Slice 를 내려줄때 사용.
+    PagedResources 와 비슷하지만 totalElements / totalPages 가 없다.
+*/
+public class SliceResources<T> extends Resources<T> {
+
+    private final SliceMetadata metadata;
+
+    public SliceResources(Iterable<T> content, Slice<?> slice, Link... links) {
+        super(content, links);
+        this.metadata = new SliceMetadata(slice.getSize(), slice.getNumber(), slice.getNumberOfElements());
+    }
+
+    @JsonProperty("page")
+    public SliceMetadata getMetadata() {
+        return metadata;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SliceMetadata {
+
+        private final int size;
+        private final int number;
+        private final int numberOfElements;
+    }
+}
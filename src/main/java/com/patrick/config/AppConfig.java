@@ -4,6 +4,7 @@ import com.patrick.accounts.Account;
 import com.patrick.accounts.AccountRepository;
 import com.patrick.accounts.AccountRole;
 import com.patrick.accounts.AccountService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,8 +27,8 @@ public class AppConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry){
+        return new TimedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(), meterRegistry);
     }
 
     @Bean
@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "my-app")
 @Getter @Setter
@@ -19,4 +22,85 @@ public class AppProperties {
     private String clientId;
     private String clientSecret;
 
+    private long eventCacheMaximumSize = 10_000;
+    private long eventCacheExpireAfterWriteSeconds = 60;
+
+    private long accountCacheMaximumSize = 10_000;
+    private long accountCacheExpireAfterWriteSeconds = 30;
+
+    private int eventBatchMaxItems = 10_000;
+
+    private int eventImportChunkSize = 500;
+    private int eventImportPoolSize = 1;
+    private int eventImportQueueCapacity = 10;
+    private long eventImportMaxUploadBytes = 100 * 1024 * 1024;
+    private int eventImportMaxLineLength = 64 * 1024;
+
+    private long eventLifecycleHorizonSeconds = 60 * 60;
+    private long eventLifecycleTickMillis = 1_000;
+
+    private int accessTokenValiditySeconds = 10 * 60;
+    private int refreshTokenValiditySeconds = 60 * 60;
+
+    private int eventReadPoolSize = 6;
+    private int eventReadQueueCapacity = 100;
+    private long eventReadTimeoutMillis = 5_000;
+
+    private int eventWritePoolSize = 4;
+    private int eventWriteQueueCapacity = 50;
+    private long eventWriteTimeoutMillis = 10_000;
+
+    private int tokenStoreCapacity = 100_000;
+    private long tokenStoreSweepIntervalSeconds = 60;
+
+    /*
+        store : 토큰을 ExpiringTokenStore 에 저장하고 요청마다 찾아본다.
+        jwt   : 서명된 JWT 를 발급하고 서명만 확인한다. (노드 간에 저장소를 공유하지 않아도 됨)
+    */
+    private String tokenMode = "store";
+    private String jwtSigningKey;
+
+    /*
+        요청 제한 규칙. 요청에 맞는 규칙이 여러 개면 모두 적용한다. (RateLimiter)
+    */
+    private List<RateLimit> rateLimits = new ArrayList<>();
+    private long rateLimitMaxBuckets = 100_000;
+    private long rateLimitBucketExpireAfterAccessSeconds = 10 * 60;
+
+    /*
+        토큰 없이 /actuator/prometheus 를 읽을 수 있는 수집기 주소. (IP 또는 CIDR, 나머지는 ADMIN 토큰 필요)
+    */
+    private String metricsScrapeAddress = "127.0.0.1";
+
+    /*
+        /admin/recording 으로 시작하는 JFR 기록의 최대 길이와 크기. 시간이 지나면 기록이 저절로 멈춘다.
+    */
+    private long recordingMaxDurationSeconds = 10 * 60;
+    private long recordingMaxSizeBytes = 64 * 1024 * 1024;
+
+    /*
+        SQL 실행 기록. (SqlTrace)
+        sampleRate 비율만큼 골라서 기록하고, slowThreshold 보다 오래 걸린 문장은 바인드 값과 함께 항상 기록한다.
+    */
+    private boolean sqlTraceEnabled = true;
+    private double sqlTraceSampleRate = 0.01;
+    private long sqlTraceSlowThresholdMillis = 200;
+    private int sqlTraceSampledCapacity = 1_000;
+    private int sqlTraceSlowCapacity = 200;
+
+    @Getter @Setter
+    public static class RateLimit {
+
+        public enum Key {
+            CLIENT, ACCOUNT, IP
+        }
+
+        // 비어있으면 모든 메서드
+        private String method;
+        private String path = "/api/**";
+        private Key key = Key.IP;
+        private int capacity;
+        private double refillPerSecond;
+    }
+
 }
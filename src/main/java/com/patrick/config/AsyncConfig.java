@@ -0,0 +1,37 @@
+package com.patrick.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/*
+    이벤트 API 의 조회와 저장을 서로 다른 풀에서 실행한다.
+    저장이 밀려도 조회는 자기 풀에서 계속 처리된다.
+
+    두 풀의 스레드 수 합이 커넥션 풀(HikariCP 기본 10개)보다 크면 남는 스레드는 커넥션을 기다리기만 하므로
+    기본값은 조회 6 + 저장 4 로 맞춰둔다.
+*/
+@Configuration
+public class AsyncConfig {
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Bean
+    public RequestExecutor eventReadExecutor(){
+        return new RequestExecutor("event-read",
+                appProperties.getEventReadPoolSize(),
+                appProperties.getEventReadQueueCapacity(),
+                Duration.ofMillis(appProperties.getEventReadTimeoutMillis()));
+    }
+
+    @Bean
+    public RequestExecutor eventWriteExecutor(){
+        return new RequestExecutor("event-write",
+                appProperties.getEventWritePoolSize(),
+                appProperties.getEventWriteQueueCapacity(),
+                Duration.ofMillis(appProperties.getEventWriteTimeoutMillis()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.patrick.config;
 
 import com.patrick.accounts.AccountService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,11 +12,15 @@ import org.springframework.security.oauth2.config.annotation.web.configuration.E
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerEndpointsConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerSecurityConfigurer;
 import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+
+import java.util.Set;
 
 @Configuration
 @EnableAuthorizationServer
 public class AuthServerConfig extends AuthorizationServerConfigurerAdapter {
 
+    private static final Set<String> GRANT_TYPES = Set.of("password", "refresh_token");
 
     @Autowired
     PasswordEncoder passwordEncoder;
@@ -32,6 +37,13 @@ public class AuthServerConfig extends AuthorizationServerConfigurerAdapter {
     @Autowired
     AppProperties appProperties;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // JWT 모드(my-app.token-mode=jwt)에서만 등록된다.
+    @Autowired(required = false)
+    JwtAccessTokenConverter accessTokenConverter;
+
     @Override
     public void configure(AuthorizationServerSecurityConfigurer security) throws Exception {
         security.passwordEncoder(passwordEncoder);
@@ -41,11 +53,11 @@ public class AuthServerConfig extends AuthorizationServerConfigurerAdapter {
     public void configure(ClientDetailsServiceConfigurer clients) throws Exception {
         clients.inMemory()
                 .withClient(appProperties.getClientId())
-                .authorizedGrantTypes("password","refresh_token")
+                .authorizedGrantTypes(GRANT_TYPES.toArray(new String[0]))
                 .scopes("read","write")
                 .secret(this.passwordEncoder.encode(appProperties.getClientSecret()))
-                .accessTokenValiditySeconds(10 * 60)
-                .refreshTokenValiditySeconds(6 * 10 * 60)
+                .accessTokenValiditySeconds(appProperties.getAccessTokenValiditySeconds())
+                .refreshTokenValiditySeconds(appProperties.getRefreshTokenValiditySeconds())
                 ;
     }
 
@@ -54,5 +66,12 @@ public class AuthServerConfig extends AuthorizationServerConfigurerAdapter {
         endpoints.authenticationManager(authenticationManager)
                 .userDetailsService(accountService)
                 .tokenStore(tokenStore);
+
+        if (accessTokenConverter != null) {
+            endpoints.accessTokenConverter(accessTokenConverter);
+        }
+
+        // 기본 TokenGranter 는 위에서 설정한 토큰 저장소/변환기로 만들어지므로 설정이 끝난 뒤에 감싼다.
+        endpoints.tokenGranter(new TimedTokenGranter(endpoints.getTokenGranter(), meterRegistry, GRANT_TYPES));
     }
 }
@@ -0,0 +1,419 @@
+package com.patrick.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.common.ExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.DefaultAuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/*
+    InMemoryTokenStore 대신 사용하는 메모리 토큰 저장소.
+
+    - 모든 인덱스를 ConcurrentHashMap 으로 두어서 readAuthentication 같은 조회가 락 없이 동작한다.
+    - 토큰 수에 상한(capacity)이 있어서, 가득 차면 만료된 토큰을 먼저 지우고 그래도 부족하면 가장 빨리 만료될 토큰부터 내보낸다.
+    - 백그라운드 스레드가 주기적으로 만료된 access/refresh 토큰을 지운다.
+    - 만료 시간이 없는 토큰은 AuthServerConfig 와 같은 유효 기간(AppProperties)을 기준으로 만료시킨다.
+    - 조회마다 시간을 재지 않는다. nanoTime 과 공유 카운터 갱신이 map 조회보다 비싸서, 표본만 재도
+      InMemoryTokenStore 보다 느려진다. (TokenVerificationBenchmark) 조회 쪽은 실패 횟수만 센다.
+*/
+@Slf4j
+public class ExpiringTokenStore implements TokenStore, AutoCloseable {
+
+    private final ConcurrentMap<String, AccessEntry> accessTokens = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RefreshEntry> refreshTokens = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, String> authenticationToAccessToken = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> refreshTokenToAccessToken = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> clientIdToAccessTokens = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> userNameToAccessTokens = new ConcurrentHashMap<>();
+
+    // 만료 시각 순으로 정렬된 토큰 목록. 스위퍼와 용량 초과 시 eviction 에서 앞에서부터 꺼낸다.
+    private final ConcurrentSkipListSet<Expiry> accessExpiries = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Expiry> refreshExpiries = new ConcurrentSkipListSet<>();
+
+    private final AuthenticationKeyGenerator authenticationKeyGenerator = new DefaultAuthenticationKeyGenerator();
+
+    private final int capacity;
+    private final Duration accessTokenValidity;
+    private final Duration refreshTokenValidity;
+    private final Clock clock;
+    private final ScheduledExecutorService sweeper;
+
+    private final LongAdder expiredEvictions = new LongAdder();
+    private final LongAdder capacityEvictions = new LongAdder();
+    private final LongAdder lookupMisses = new LongAdder();
+
+    public ExpiringTokenStore(int capacity, Duration accessTokenValidity, Duration refreshTokenValidity,
+                              Duration sweepInterval, Clock clock) {
+        this.capacity = capacity;
+        this.accessTokenValidity = accessTokenValidity;
+        this.refreshTokenValidity = refreshTokenValidity;
+        this.clock = clock;
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-store-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = sweepInterval.toMillis();
+        this.sweeper.scheduleWithFixedDelay(this::sweepQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(OAuth2AccessToken token) {
+        return readAuthentication(token.getValue());
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        AccessEntry entry = lookup(token);
+        return entry == null ? null : entry.authentication;
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        AccessEntry entry = lookup(tokenValue);
+        return entry == null ? null : entry.token;
+    }
+
+    private AccessEntry lookup(String tokenValue) {
+        AccessEntry entry = accessTokens.get(tokenValue);
+        if (entry == null) {
+            lookupMisses.increment();
+        }
+        return entry;
+    }
+
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+        ensureCapacity(accessTokens, accessExpiries, this::removeAccessToken);
+
+        String refreshToken = token.getRefreshToken() == null ? null : token.getRefreshToken().getValue();
+        AccessEntry entry = new AccessEntry(token, authentication,
+                authenticationKeyGenerator.extractKey(authentication),
+                clientUserKey(authentication),
+                refreshToken,
+                expiresAt(token.getExpiration(), accessTokenValidity));
+
+        AccessEntry previous = accessTokens.put(token.getValue(), entry);
+        if (previous != null) {
+            unindex(previous);
+        }
+
+        authenticationToAccessToken.put(entry.authenticationKey, token.getValue());
+        index(clientIdToAccessTokens, authentication.getOAuth2Request().getClientId(), token.getValue());
+        if (!authentication.isClientOnly()) {
+            index(userNameToAccessTokens, entry.clientUserKey, token.getValue());
+        }
+        if (refreshToken != null) {
+            refreshTokenToAccessToken.put(refreshToken, token.getValue());
+        }
+
+        // 인덱스를 다 채운 뒤에 만료 목록에 넣어야 eviction 이 인덱스를 빠짐없이 지운다.
+        accessExpiries.add(entry.expiry);
+    }
+
+    @Override
+    public void removeAccessToken(OAuth2AccessToken token) {
+        removeAccessToken(token.getValue());
+    }
+
+    private void removeAccessToken(String tokenValue) {
+        AccessEntry entry = accessTokens.remove(tokenValue);
+        if (entry != null) {
+            unindex(entry);
+        }
+    }
+
+    private void unindex(AccessEntry entry) {
+        String tokenValue = entry.token.getValue();
+
+        accessExpiries.remove(entry.expiry);
+        authenticationToAccessToken.remove(entry.authenticationKey, tokenValue);
+        unindex(clientIdToAccessTokens, entry.authentication.getOAuth2Request().getClientId(), tokenValue);
+        unindex(userNameToAccessTokens, entry.clientUserKey, tokenValue);
+        if (entry.refreshToken != null) {
+            refreshTokenToAccessToken.remove(entry.refreshToken, tokenValue);
+        }
+    }
+
+    @Override
+    public void storeRefreshToken(OAuth2RefreshToken refreshToken, OAuth2Authentication authentication) {
+        ensureCapacity(refreshTokens, refreshExpiries, this::removeRefreshToken);
+
+        Date expiration = refreshToken instanceof ExpiringOAuth2RefreshToken
+                ? ((ExpiringOAuth2RefreshToken) refreshToken).getExpiration()
+                : null;
+        RefreshEntry entry = new RefreshEntry(refreshToken, authentication,
+                expiresAt(expiration, refreshTokenValidity));
+
+        RefreshEntry previous = refreshTokens.put(refreshToken.getValue(), entry);
+        if (previous != null) {
+            refreshExpiries.remove(previous.expiry);
+        }
+        refreshExpiries.add(entry.expiry);
+    }
+
+    @Override
+    public OAuth2RefreshToken readRefreshToken(String tokenValue) {
+        RefreshEntry entry = refreshTokens.get(tokenValue);
+        return entry == null ? null : entry.token;
+    }
+
+    @Override
+    public OAuth2Authentication readAuthenticationForRefreshToken(OAuth2RefreshToken token) {
+        RefreshEntry entry = refreshTokens.get(token.getValue());
+        return entry == null ? null : entry.authentication;
+    }
+
+    @Override
+    public void removeRefreshToken(OAuth2RefreshToken token) {
+        removeRefreshToken(token.getValue());
+    }
+
+    private void removeRefreshToken(String tokenValue) {
+        RefreshEntry entry = refreshTokens.remove(tokenValue);
+        if (entry != null) {
+            refreshExpiries.remove(entry.expiry);
+        }
+        refreshTokenToAccessToken.remove(tokenValue);
+    }
+
+    @Override
+    public void removeAccessTokenUsingRefreshToken(OAuth2RefreshToken refreshToken) {
+        String accessToken = refreshTokenToAccessToken.remove(refreshToken.getValue());
+        if (accessToken != null) {
+            removeAccessToken(accessToken);
+        }
+    }
+
+    @Override
+    public OAuth2AccessToken getAccessToken(OAuth2Authentication authentication) {
+        String tokenValue = authenticationToAccessToken.get(authenticationKeyGenerator.extractKey(authentication));
+        if (tokenValue == null) {
+            return null;
+        }
+        AccessEntry entry = accessTokens.get(tokenValue);
+        return entry == null ? null : entry.token;
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientIdAndUserName(String clientId, String userName) {
+        return tokens(userNameToAccessTokens.get(clientId + ":" + userName));
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientId(String clientId) {
+        return tokens(clientIdToAccessTokens.get(clientId));
+    }
+
+    private Collection<OAuth2AccessToken> tokens(Set<String> tokenValues) {
+        if (tokenValues == null) {
+            return Collections.emptyList();
+        }
+        return tokenValues.stream()
+                .map(accessTokens::get)
+                .filter(Objects::nonNull)
+                .map(entry -> entry.token)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /*
+        만료된 access/refresh 토큰을 지운다. 만료 시각 순으로 정렬돼 있으므로 만료되지 않은 토큰을 만나면 멈춘다.
+    */
+    public int sweep() {
+        long now = clock.millis();
+        int removed = 0;
+
+        Expiry expiry;
+        while ((expiry = firstExpired(accessExpiries, now)) != null) {
+            if (accessExpiries.remove(expiry)) {
+                removeAccessToken(expiry.tokenValue);
+                removed++;
+            }
+        }
+        while ((expiry = firstExpired(refreshExpiries, now)) != null) {
+            if (refreshExpiries.remove(expiry)) {
+                removeRefreshToken(expiry.tokenValue);
+                removed++;
+            }
+        }
+
+        expiredEvictions.add(removed);
+        return removed;
+    }
+
+    private void sweepQuietly() {
+        try {
+            int removed = sweep();
+            if (removed > 0) {
+                log.debug("Swept {} expired tokens", removed);
+            }
+        } catch (RuntimeException e) {
+            // 예외로 스케줄이 멈추지 않도록 삼킨다.
+            log.warn("Token sweep failed", e);
+        }
+    }
+
+    private static Expiry firstExpired(ConcurrentSkipListSet<Expiry> expiries, long now) {
+        for (Expiry expiry : expiries) {
+            return expiry.at <= now ? expiry : null;
+        }
+        return null;
+    }
+
+    /*
+        상한에 닿으면 만료된 토큰부터 지우고, 그래도 자리가 없으면 가장 빨리 만료될 토큰을 내보낸다.
+        동시에 저장하는 스레드 수만큼 잠깐 넘칠 수는 있지만 계속 커지지는 않는다.
+    */
+    private void ensureCapacity(ConcurrentMap<String, ?> tokens, ConcurrentSkipListSet<Expiry> expiries,
+                                Consumer<String> remover) {
+        if (tokens.size() < capacity) {
+            return;
+        }
+
+        sweep();
+
+        while (tokens.size() >= capacity) {
+            Expiry soonest = expiries.pollFirst();
+            if (soonest == null) {
+                return;
+            }
+            remover.accept(soonest.tokenValue);
+            capacityEvictions.increment();
+        }
+    }
+
+    private long expiresAt(Date expiration, Duration validity) {
+        return expiration != null ? expiration.getTime() : clock.millis() + validity.toMillis();
+    }
+
+    private static String clientUserKey(OAuth2Authentication authentication) {
+        String userName = authentication.getUserAuthentication() == null ? "" : authentication.getUserAuthentication().getName();
+        return authentication.getOAuth2Request().getClientId() + ":" + userName;
+    }
+
+    private static void index(ConcurrentMap<String, Set<String>> index, String key, String tokenValue) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(tokenValue);
+    }
+
+    private static void unindex(ConcurrentMap<String, Set<String>> index, String key, String tokenValue) {
+        // 비어있는 Set 은 키 단위로 원자적으로 지운다.
+        index.computeIfPresent(key, (k, values) -> {
+            values.remove(tokenValue);
+            return values.isEmpty() ? null : values;
+        });
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getAccessTokenCount() {
+        return accessTokens.size();
+    }
+
+    public int getRefreshTokenCount() {
+        return refreshTokens.size();
+    }
+
+    public long getExpiredEvictionCount() {
+        return expiredEvictions.sum();
+    }
+
+    public long getCapacityEvictionCount() {
+        return capacityEvictions.sum();
+    }
+
+    public long getLookupMissCount() {
+        return lookupMisses.sum();
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private static final class Expiry implements Comparable<Expiry> {
+
+        private final long at;
+        private final String tokenValue;
+
+        private Expiry(long at, String tokenValue) {
+            this.at = at;
+            this.tokenValue = tokenValue;
+        }
+
+        @Override
+        public int compareTo(Expiry other) {
+            int result = Long.compare(at, other.at);
+            return result != 0 ? result : tokenValue.compareTo(other.tokenValue);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Expiry)) return false;
+            Expiry expiry = (Expiry) o;
+            return at == expiry.at && tokenValue.equals(expiry.tokenValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(at, tokenValue);
+        }
+    }
+
+    private static final class AccessEntry {
+
+        private final OAuth2AccessToken token;
+        private final OAuth2Authentication authentication;
+        private final String authenticationKey;
+        private final String clientUserKey;
+        private final String refreshToken;
+        private final Expiry expiry;
+
+        private AccessEntry(OAuth2AccessToken token, OAuth2Authentication authentication, String authenticationKey,
+                            String clientUserKey, String refreshToken, long expiresAt) {
+            this.token = token;
+            this.authentication = authentication;
+            this.authenticationKey = authenticationKey;
+            this.clientUserKey = clientUserKey;
+            this.refreshToken = refreshToken;
+            this.expiry = new Expiry(expiresAt, token.getValue());
+        }
+    }
+
+    private static final class RefreshEntry {
+
+        private final OAuth2RefreshToken token;
+        private final OAuth2Authentication authentication;
+        private final Expiry expiry;
+
+        private RefreshEntry(OAuth2RefreshToken token, OAuth2Authentication authentication, long expiresAt) {
+            this.token = token;
+            this.authentication = authentication;
+            this.expiry = new Expiry(expiresAt, token.getValue());
+        }
+    }
+}
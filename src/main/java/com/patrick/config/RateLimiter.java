@@ -0,0 +1,190 @@
+package com.patrick.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/*
+    클라이언트(OAuth client id), 계정, IP 별 토큰 버킷.
+
+    버킷 하나는 GCRA 방식으로 "다음 토큰이 생기는 시각(TAT)" 하나만 AtomicLong 에 들고 CAS 로 갱신한다.
+    capacity 개까지 한 번에 쓸 수 있고, 그 뒤로는 초당 refillPerSecond 개씩 다시 생긴다. (토큰 버킷과 같은 동작)
+    버킷은 크기 상한이 있는 Caffeine 캐시에 두고, 한동안 안 쓴 버킷은 버린다. (버려진 버킷은 가득 찬 버킷과 같다)
+*/
+@Component
+public class RateLimiter implements MeterBinder {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final List<Rule> rules = new ArrayList<>();
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier ticker;
+
+    @Autowired
+    public RateLimiter(AppProperties appProperties) {
+        this(appProperties.getRateLimits(), appProperties.getRateLimitMaxBuckets(),
+                Duration.ofSeconds(appProperties.getRateLimitBucketExpireAfterAccessSeconds()), System::nanoTime);
+    }
+
+    public RateLimiter(List<AppProperties.RateLimit> rateLimits, long maxBuckets, Duration expireAfterAccess, LongSupplier ticker) {
+        for (int i = 0; i < rateLimits.size(); i++) {
+            rules.add(new Rule(i, rateLimits.get(i)));
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        this.ticker = ticker;
+    }
+
+    /*
+        요청에 맞는 모든 규칙에서 토큰을 하나씩 쓴다.
+        허용되면 0, 아니면 다시 시도할 수 있을 때까지 남은 시간(나노초)을 돌려준다.
+    */
+    public long tryAcquire(HttpServletRequest request, Authentication authentication) {
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+        long waitNanos = 0;
+
+        for (Rule rule : rules) {
+            if (!rule.matches(request.getMethod(), path)) {
+                continue;
+            }
+
+            String key = rule.key(request, authentication);
+            if (key == null) {
+                continue;
+            }
+
+            long wait = rule.acquire(buckets.get(rule.index + ":" + key, k -> new AtomicLong(ticker.getAsLong())));
+            waitNanos = Math.max(waitNanos, wait);
+        }
+        return waitNanos;
+    }
+
+    public long getBucketCount() {
+        return buckets.estimatedSize();
+    }
+
+    public List<Map<String, Object>> getRuleStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (Rule rule : rules) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("method", rule.method == null ? "*" : rule.method);
+            result.put("path", rule.path);
+            result.put("key", rule.key);
+            result.put("capacity", rule.capacity);
+            result.put("refillPerSecond", rule.refillPerSecond);
+            result.put("allowed", rule.allowed.sum());
+            result.put("rejected", rule.rejected.sum());
+            stats.add(result);
+        }
+        return stats;
+    }
+
+    /*
+        규칙마다 rate.limit.requests(result=allowed|rejected) 를 rule 태그(규칙 순번)로 노출한다.
+    */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rate.limit.buckets", this, RateLimiter::getBucketCount).register(registry);
+        for (Rule rule : rules) {
+            String index = String.valueOf(rule.index);
+            FunctionCounter.builder("rate.limit.requests", rule.allowed, LongAdder::sum)
+                    .tag("rule", index).tag("result", "allowed").register(registry);
+            FunctionCounter.builder("rate.limit.requests", rule.rejected, LongAdder::sum)
+                    .tag("rule", index).tag("result", "rejected").register(registry);
+        }
+    }
+
+    private class Rule {
+
+        private final int index;
+        private final String method;
+        private final String path;
+        private final AppProperties.RateLimit.Key key;
+        private final int capacity;
+        private final double refillPerSecond;
+
+        // 토큰 하나가 생기는 간격과, 버킷이 가득 찼을 때 TAT 가 현재보다 앞서갈 수 있는 최대 시간
+        private final long intervalNanos;
+        private final long burstNanos;
+
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        Rule(int index, AppProperties.RateLimit rateLimit) {
+            if (rateLimit.getCapacity() <= 0 || rateLimit.getRefillPerSecond() <= 0) {
+                throw new IllegalArgumentException("Rate limit capacity and refill-per-second must be positive: " + rateLimit.getPath());
+            }
+            this.index = index;
+            this.method = StringUtils.hasText(rateLimit.getMethod()) ? rateLimit.getMethod().toUpperCase() : null;
+            this.path = rateLimit.getPath();
+            this.key = rateLimit.getKey();
+            this.capacity = rateLimit.getCapacity();
+            this.refillPerSecond = rateLimit.getRefillPerSecond();
+            this.intervalNanos = (long) (1_000_000_000L / refillPerSecond);
+            this.burstNanos = intervalNanos * capacity;
+        }
+
+        boolean matches(String requestMethod, String requestPath) {
+            return (method == null || method.equals(requestMethod)) && PATH_MATCHER.match(path, requestPath);
+        }
+
+        /*
+            규칙에 맞는 키가 없으면(익명 요청의 계정 등) null 이고 이 규칙은 적용하지 않는다.
+        */
+        String key(HttpServletRequest request, Authentication authentication) {
+            switch (key) {
+                case CLIENT:
+                    return authentication instanceof OAuth2Authentication
+                            ? ((OAuth2Authentication) authentication).getOAuth2Request().getClientId()
+                            : null;
+                case ACCOUNT:
+                    return authentication instanceof OAuth2Authentication && !((OAuth2Authentication) authentication).isClientOnly()
+                            ? authentication.getName()
+                            : null;
+                default:
+                    return request.getRemoteAddr();
+            }
+        }
+
+        long acquire(AtomicLong tat) {
+            while (true) {
+                long now = ticker.getAsLong();
+                long current = tat.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long ahead = next - now;
+
+                if (ahead > burstNanos) {
+                    rejected.increment();
+                    return ahead - burstNanos;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    allowed.increment();
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.patrick.config;
+
+/*
+    현재 스레드에서 처리 중인 요청의 eventId / accountId.
+    EventApiPhases 가 작업 스레드에서 핸들러를 시작할 때 넣고 끝날 때 지운다.
+    RepositoryMetrics 가 RepositoryCallEvent 에 같이 기록해서 요청 하나의 쿼리만 골라볼 수 있다. (0 = 모름)
+
+    요청마다 객체를 만들지 않도록 스레드마다 하나를 두고 값만 바꾼다.
+*/
+public final class RepositoryCallContext {
+
+    private static final ThreadLocal<RepositoryCallContext> CURRENT = ThreadLocal.withInitial(RepositoryCallContext::new);
+
+    private int eventId;
+    private int accountId;
+
+    private RepositoryCallContext() {
+    }
+
+    public static void set(int eventId, int accountId) {
+        RepositoryCallContext context = CURRENT.get();
+        context.eventId = eventId;
+        context.accountId = accountId;
+    }
+
+    public static void clear() {
+        set(0, 0);
+    }
+
+    static RepositoryCallContext current() {
+        return CURRENT.get();
+    }
+
+    int getEventId() {
+        return eventId;
+    }
+
+    int getAccountId() {
+        return accountId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.patrick.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+    EventRepository, AccountRepository 메서드 호출 한 번. (JFR 이벤트, RepositoryMetrics 에서 기록)
+    eventId / accountId 는 같은 스레드의 EventApiPhase 와 같은 값이다. (RepositoryCallContext, 모르면 0)
+*/
+@Name("com.patrick.RepositoryCall")
+@Label("Repository Call")
+@Category({"springboot-with-vuejs", "Repository"})
+@Description("Spring Data repository method invocation")
+@StackTrace(false)
+class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Exception")
+    String exception;
+
+    @Label("Event Id")
+    int eventId;
+
+    @Label("Account Id")
+    int accountId;
+}
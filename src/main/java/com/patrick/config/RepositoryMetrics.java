@@ -0,0 +1,103 @@
+package com.patrick.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.EventType;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+    EventRepository, AccountRepository 메서드 호출 시간을 repository.invocations 타이머에 기록한다.
+    (repository, method, exception 태그)
+
+    성공한 호출의 Timer 는 (저장소, 메서드)마다 한 번만 만들어두고 다시 쓴다.
+    Stream 을 돌려주는 메서드는 쿼리를 실행할 때까지만 재고 결과를 읽는 시간은 빠진다.
+
+    JFR 기록 중이면 호출마다 RepositoryCallEvent 도 남긴다.
+*/
+@Aspect
+@Component
+public class RepositoryMetrics {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(RepositoryCallEvent.class);
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private final Map<Class<?>, Map<Method, Timer>> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * *(..)) && !execution(* java.lang.Object.*(..))"
+            + " && (target(com.patrick.events.EventRepository) || target(com.patrick.accounts.AccountRepository))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = EVENT_TYPE.isEnabled() ? new RepositoryCallEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+
+        long start = System.nanoTime();
+        String exception = null;
+        try {
+            Object result = joinPoint.proceed();
+            timer(joinPoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            timer(joinPoint, exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            if (event != null) {
+                commit(event, joinPoint, exception);
+            }
+        }
+    }
+
+    private static void commit(RepositoryCallEvent event, ProceedingJoinPoint joinPoint, String exception) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.repository = repositoryName(joinPoint.getTarget());
+            event.method = joinPoint.getSignature().getName();
+            event.exception = exception;
+            RepositoryCallContext context = RepositoryCallContext.current();
+            event.eventId = context.getEventId();
+            event.accountId = context.getAccountId();
+            event.commit();
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return timers.computeIfAbsent(joinPoint.getTarget().getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> timer(joinPoint, "none"));
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String exception) {
+        return Timer.builder("repository.invocations")
+                .description("Spring Data repository method time")
+                .tag("repository", repositoryName(joinPoint.getTarget()))
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    /*
+        target 은 Spring Data 가 만든 JDK 프록시라서 클래스 이름 대신 저장소 인터페이스 이름을 쓴다.
+    */
+    private static String repositoryName(Object target) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(target)) {
+            if (type.getName().startsWith("com.patrick.")) {
+                return type.getSimpleName();
+            }
+        }
+        return target.getClass().getSimpleName();
+    }
+}
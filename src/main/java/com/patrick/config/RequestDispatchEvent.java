@@ -0,0 +1,33 @@
+package com.patrick.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+    서블릿 디스패치 한 번. (JFR 이벤트, RequestRecordingFilter 에서 기록)
+
+    CompletableFuture 를 돌려주는 핸들러는 REQUEST 디스패치가 핸들러 호출까지,
+    ASYNC 디스패치가 결과를 받아 HAL JSON 으로 직렬화하는 부분이라 직렬화 시간을 따로 볼 수 있다.
+*/
+@Name("com.patrick.RequestDispatch")
+@Label("Request Dispatch")
+@Category({"springboot-with-vuejs", "HTTP"})
+@Description("One servlet dispatch of an HTTP request")
+@StackTrace(false)
+class RequestDispatchEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("URI Pattern")
+    String uri;
+
+    @Label("Dispatcher Type")
+    String dispatch;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,170 @@
+package com.patrick.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import com.patrick.common.RequestUris;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+    컨트롤러의 블로킹 작업(JPA 조회/저장)을 톰캣 워커 스레드 대신 실행하는 크기가 고정된 풀.
+    DB 가 느려져도 이 풀만 밀리고 톰캣 스레드는 다른 요청(index, docs)을 계속 처리한다.
+
+    - 큐가 가득 차면 기다리지 않고 바로 TaskRejectedException 을 던진다. (503)
+    - timeout 안에 끝나지 않으면 TimeoutException 으로 끝난다. 아직 큐에 있던 작업은 실행하지 않고 버리지만
+      이미 실행 중인 작업을 멈추지는 않는다. 그래서 저장 요청의 timeout 은 결과를 알 수 없다. (EventController)
+    - 요청 주소(RequestUris)와 SecurityContext 를 작업 스레드로 넘겨준다. 서블릿 요청 자체는 넘기지 않는다.
+*/
+public class RequestExecutor implements AutoCloseable, MeterBinder {
+
+    private final String name;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+
+    public RequestExecutor(String name, int poolSize, int queueCapacity, Duration timeout) {
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setThreadNamePrefix(name + "-");
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setTaskDecorator(RequestExecutor::propagateContext);
+        this.executor.setWaitForTasksToCompleteOnShutdown(true);
+        this.executor.setAwaitTerminationSeconds((int) timeout.getSeconds());
+        this.executor.initialize();
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                // timeout 으로 이미 끝난 작업은 큐에서 꺼내도 실행하지 않는다.
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(task.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            rejectedCount.increment();
+            throw e;
+        }
+
+        return future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, e) -> {
+                    if (e instanceof TimeoutException) {
+                        timeoutCount.increment();
+                    }
+                });
+    }
+
+    /*
+        요청 스레드에서 요청 주소를 미리 계산해서 넘긴다. 요청이 끝나면 서블릿 요청은 재사용되므로 작업 스레드에서 읽지 않는다.
+        SecurityContext 도 요청 스레드에서 지워질 수 있으므로 인증 정보만 복사한다.
+    */
+    private static Runnable propagateContext(Runnable task) {
+        RequestUris uris = RequestUris.capture();
+
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+
+        return () -> {
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                RequestUris.runWith(uris, task);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+
+    /*
+        request.executor.* 미터를 name 태그로 노출한다. (/admin/executors 와 같은 값)
+    */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("request.executor.active", this, RequestExecutor::getActiveCount)
+                .tag("name", name).register(registry);
+        Gauge.builder("request.executor.queued", this, RequestExecutor::getQueueSize)
+                .tag("name", name).register(registry);
+        Gauge.builder("request.executor.queue.capacity", this, RequestExecutor::getQueueCapacity)
+                .tag("name", name).register(registry);
+        FunctionCounter.builder("request.executor.completed", this, RequestExecutor::getCompletedTaskCount)
+                .tag("name", name).register(registry);
+        FunctionCounter.builder("request.executor.rejected", this, RequestExecutor::getRejectedCount)
+                .tag("name", name).register(registry);
+        FunctionCounter.builder("request.executor.timeouts", this, RequestExecutor::getTimeoutCount)
+                .tag("name", name).register(registry);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    public int getMaxPoolSize() {
+        return executor.getMaxPoolSize();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return threadPoolExecutor().getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getCompletedTaskCount() {
+        return threadPoolExecutor().getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    private ThreadPoolExecutor threadPoolExecutor() {
+        return executor.getThreadPoolExecutor();
+    }
+}
@@ -0,0 +1,53 @@
+package com.patrick.config;
+
+import jdk.jfr.EventType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/*
+    디스패치마다 RequestDispatchEvent 를 남긴다. JFR 기록이 꺼져 있으면 바로 넘긴다.
+    uri 는 매핑된 패턴(/api/events/{id})이고, 핸들러를 찾지 못한 요청은 요청 경로 그대로다.
+*/
+@Component
+public class RequestRecordingFilter extends OncePerRequestFilter {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(RequestDispatchEvent.class);
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!EVENT_TYPE.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestDispatchEvent event = new RequestDispatchEvent();
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                event.method = request.getMethod();
+                event.uri = pattern != null ? pattern.toString() : request.getRequestURI();
+                event.dispatch = request.getDispatcherType().name();
+                event.status = response.getStatus();
+                event.commit();
+            }
+        }
+    }
+}
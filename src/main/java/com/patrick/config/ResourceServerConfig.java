@@ -1,5 +1,6 @@
 package com.patrick.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -7,11 +8,18 @@ import org.springframework.security.oauth2.config.annotation.web.configuration.E
 import org.springframework.security.oauth2.config.annotation.web.configuration.ResourceServerConfigurerAdapter;
 import org.springframework.security.oauth2.config.annotation.web.configurers.ResourceServerSecurityConfigurer;
 import org.springframework.security.oauth2.provider.error.OAuth2AccessDeniedHandler;
+import org.springframework.security.web.authentication.preauth.AbstractPreAuthenticatedProcessingFilter;
 
 @Configuration
 @EnableResourceServer
 public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
 
+    @Autowired
+    RateLimiter rateLimiter;
+
+    @Autowired
+    AppProperties appProperties;
+
     @Override
     public void configure(ResourceServerSecurityConfigurer resources) throws Exception {
         resources.resourceId("event");
@@ -23,12 +31,27 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
             .anonymous()
                 .and()
             .authorizeRequests()
+                .mvcMatchers("/admin/**")
+                    .hasRole("ADMIN")
+                .mvcMatchers("/actuator/health")
+                    .permitAll()
+                .mvcMatchers("/actuator/prometheus")
+                    .access("hasRole('ADMIN') or hasIpAddress('" + appProperties.getMetricsScrapeAddress() + "')")
+                .mvcMatchers("/actuator/**")
+                    .hasRole("ADMIN")
                 .mvcMatchers(HttpMethod.GET, "/api/**")
                     .permitAll()
                 .anyRequest()
                     .authenticated()
                 .and()
             .exceptionHandling()
-                .accessDeniedHandler(new OAuth2AccessDeniedHandler());
+                .accessDeniedHandler(new OAuth2AccessDeniedHandler())
+                .and()
+            /*
+                OAuth2AuthenticationProcessingFilter 는 등록 순서가 없는 필터라 기준으로 쓸 수 없다.
+                ResourceServerSecurityConfigurer 가 AbstractPreAuthenticatedProcessingFilter 바로 앞에 넣으므로
+                그 뒤에 두면 토큰 인증이 끝난 다음(계정별 제한 가능)에 실행된다.
+            */
+            .addFilterAfter(new RateLimitFilter(rateLimiter), AbstractPreAuthenticatedProcessingFilter.class);
     }
 }
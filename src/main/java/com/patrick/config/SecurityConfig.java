@@ -1,7 +1,9 @@
 package com.patrick.config;
 
 import com.patrick.accounts.AccountService;
+import com.patrick.accounts.AccountUserAuthenticationConverter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,8 +15,13 @@ import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
 import org.springframework.security.oauth2.provider.token.TokenStore;
-import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import java.time.Clock;
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
@@ -26,9 +33,56 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    AppProperties appProperties;
+
+    /*
+        InMemoryTokenStore 는 만료된 토큰을 지우지 않아서 계속 커진다.
+        상한과 만료 스위퍼가 있는 ExpiringTokenStore 를 사용한다. (빈이 내려갈 때 close() 로 스위퍼를 멈춘다)
+    */
+    @Bean
+    @ConditionalOnProperty(name = "my-app.token-mode", havingValue = "store", matchIfMissing = true)
+    public ExpiringTokenStore tokenStore(){
+        return new ExpiringTokenStore(appProperties.getTokenStoreCapacity(),
+                Duration.ofSeconds(appProperties.getAccessTokenValiditySeconds()),
+                Duration.ofSeconds(appProperties.getRefreshTokenValiditySeconds()),
+                Duration.ofSeconds(appProperties.getTokenStoreSweepIntervalSeconds()),
+                Clock.systemUTC());
+    }
+
+    /*
+        HMAC-SHA256 서명 키는 256 비트(32 바이트) 이상이어야 한다.
+    */
+    static final int MIN_JWT_SIGNING_KEY_LENGTH = 32;
+
+    /*
+        JWT 모드에서는 토큰 자체에 계정 id 와 권한이 들어있어서
+        리소스 서버가 저장소나 AccountRepository 를 찾지 않고 서명만 확인한다.
+
+        서명 키는 기본값이 없다. 키가 없거나 짧으면 누구나 토큰을 위조할 수 있으므로 뜨지 않는다.
+    */
+    @Bean
+    @ConditionalOnProperty(name = "my-app.token-mode", havingValue = "jwt")
+    public JwtAccessTokenConverter accessTokenConverter(){
+        String signingKey = appProperties.getJwtSigningKey();
+        if (signingKey == null || signingKey.length() < MIN_JWT_SIGNING_KEY_LENGTH) {
+            throw new IllegalStateException("my-app.jwt-signing-key must be set to at least "
+                    + MIN_JWT_SIGNING_KEY_LENGTH + " characters when my-app.token-mode=jwt");
+        }
+
+        DefaultAccessTokenConverter accessTokenConverter = new DefaultAccessTokenConverter();
+        accessTokenConverter.setUserTokenConverter(new AccountUserAuthenticationConverter());
+
+        JwtAccessTokenConverter converter = new JwtAccessTokenConverter();
+        converter.setSigningKey(signingKey);
+        converter.setAccessTokenConverter(accessTokenConverter);
+        return converter;
+    }
+
     @Bean
-    public TokenStore tokenStore(){
-        return new InMemoryTokenStore();
+    @ConditionalOnProperty(name = "my-app.token-mode", havingValue = "jwt")
+    public TokenStore jwtTokenStore(JwtAccessTokenConverter accessTokenConverter){
+        return new JwtTokenStore(accessTokenConverter);
     }
 
     @Bean
@@ -43,9 +97,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .passwordEncoder(passwordEncoder);
     }
 
+    /*
+        문서와 Vue 앱(/, /index.html, /static/**)은 보안 필터를 거치지 않는다.
+        보안 필터를 거치면 Cache-Control: no-cache 헤더가 붙어서 WebConfig 의 캐시 설정이 덮어써진다.
+    */
     @Override
     public void configure(WebSecurity web) throws Exception {
         web.ignoring().mvcMatchers("/docs/index.html");
+        web.ignoring().mvcMatchers("/", "/index.html", "/static/**");
         web.ignoring().requestMatchers(PathRequest.toStaticResources().atCommonLocations());
     }
 
@@ -0,0 +1,178 @@
+package com.patrick.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    DataSource 프록시(datasource-proxy)로 실행된 SQL 을 크기가 고정된 링 버퍼에 남긴다.
+    Hibernate SQL/BasicBinder 로그는 문장과 바인드 값마다 동기로 로그를 쓰느라 쿼리보다 비용이 컸다.
+
+    - 모든 문장의 개수만 센다.
+    - sampleRate 비율만큼 골라서 문장과 실행 시간을 sampled 버퍼에 남긴다. (바인드 값 없음)
+    - slowThreshold 보다 오래 걸린 문장은 바인드 값과 함께 slow 버퍼에 항상 남긴다.
+
+    버퍼는 가득 차면 가장 오래된 항목을 덮어쓴다. 쓰는 쪽은 lock 없이 칸 번호만 증가시킨다.
+*/
+public class SqlTrace implements QueryExecutionListener {
+
+    private final double sampleRate;
+    private final long slowThresholdMillis;
+    private final Ring sampled;
+    private final Ring slow;
+
+    private final LongAdder statementCount = new LongAdder();
+
+    public SqlTrace(double sampleRate, long slowThresholdMillis, int sampledCapacity, int slowCapacity) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("SQL trace sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.sampled = new Ring(sampledCapacity);
+        this.slow = new Ring(slowCapacity);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        statementCount.increment();
+
+        if (execInfo.getElapsedTime() >= slowThresholdMillis) {
+            slow.add(entry(execInfo, queryInfoList, true));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            sampled.add(entry(execInfo, queryInfoList, false));
+        }
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public long getSlowThresholdMillis() {
+        return slowThresholdMillis;
+    }
+
+    public long getStatementCount() {
+        return statementCount.sum();
+    }
+
+    public long getSampledCount() {
+        return sampled.count();
+    }
+
+    public long getSlowCount() {
+        return slow.count();
+    }
+
+    /*
+        최근 것부터 limit 개.
+    */
+    public List<Entry> sampled(int limit) {
+        return sampled.latest(limit);
+    }
+
+    public List<Entry> slow(int limit) {
+        return slow.latest(limit);
+    }
+
+    private static Entry entry(ExecutionInfo execInfo, List<QueryInfo> queryInfoList, boolean withParameters) {
+        List<String> queries = new ArrayList<>(queryInfoList.size());
+        List<List<String>> parameters = withParameters ? new ArrayList<>() : null;
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            queries.add(queryInfo.getQuery());
+            if (withParameters) {
+                for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+                    parameters.add(parameters(operations));
+                }
+            }
+        }
+
+        return new Entry(Instant.now(), execInfo.getElapsedTime(), execInfo.isSuccess(),
+                execInfo.isBatch() ? execInfo.getBatchSize() : 0,
+                execInfo.getConnectionId(), Thread.currentThread().getName(),
+                queries, parameters);
+    }
+
+    /*
+        ParameterSetOperation 의 args 는 (칸 번호, 값, ...) 이고 setNull 은 값 대신 SQL 타입이 들어있다.
+    */
+    private static List<String> parameters(List<ParameterSetOperation> operations) {
+        List<String> values = new ArrayList<>(operations.size());
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            if (operation.getMethod().getName().equals("setNull") || args.length < 2) {
+                values.add(null);
+            } else {
+                values.add(String.valueOf(args[1]));
+            }
+        }
+        return values;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+
+        private final Instant finishedAt;
+        private final long elapsedMillis;
+        private final boolean success;
+        private final int batchSize;
+        private final String connectionId;
+        private final String thread;
+        private final List<String> queries;
+
+        // slow 항목에만 있다. (실행마다 바인드 값 목록 하나, 배치면 여러 개)
+        private final List<List<String>> parameters;
+    }
+
+    private static class Ring {
+
+        private final AtomicReferenceArray<Entry> entries;
+        private final AtomicLong next = new AtomicLong();
+
+        Ring(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("SQL trace capacity must be positive: " + capacity);
+            }
+            this.entries = new AtomicReferenceArray<>(capacity);
+        }
+
+        void add(Entry entry) {
+            long index = next.getAndIncrement();
+            entries.set((int) (index % entries.length()), entry);
+        }
+
+        long count() {
+            return next.get();
+        }
+
+        List<Entry> latest(int limit) {
+            long end = next.get();
+            long start = Math.max(0, end - Math.min(limit, entries.length()));
+            List<Entry> result = new ArrayList<>();
+            for (long index = end - 1; index >= start; index--) {
+                Entry entry = entries.get((int) (index % entries.length()));
+                if (entry != null) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.patrick.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/*
+    DataSource 빈을 datasource-proxy 로 감싸서 실행된 SQL 을 SqlTrace 에 넘긴다.
+    (my-app.sql-trace-enabled=false 이면 감싸지 않는다)
+
+    프록시는 unwrap 을 원래 DataSource 로 넘기므로 HikariCP 지표는 그대로 붙는다.
+*/
+@Configuration
+@ConditionalOnProperty(name = "my-app.sql-trace-enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTraceConfig {
+
+    @Bean
+    public SqlTrace sqlTrace(AppProperties appProperties){
+        return new SqlTrace(appProperties.getSqlTraceSampleRate(),
+                appProperties.getSqlTraceSlowThresholdMillis(),
+                appProperties.getSqlTraceSampledCapacity(),
+                appProperties.getSqlTraceSlowCapacity());
+    }
+
+    /*
+        BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static 으로 두고 SqlTrace 는 DataSource 를 감쌀 때 찾는다.
+    */
+    @Bean
+    public static BeanPostProcessor sqlTraceDataSourcePostProcessor(ObjectProvider<SqlTrace> sqlTrace){
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(sqlTrace.getObject())
+                        .build();
+            }
+        };
+    }
+}
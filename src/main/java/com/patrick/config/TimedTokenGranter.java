@@ -0,0 +1,80 @@
+package com.patrick.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.TokenGranter;
+import org.springframework.security.oauth2.provider.TokenRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+    토큰 발급 시간을 oauth.token.grant 타이머에 기록한다. (grant.type, outcome)
+    인증(비밀번호 확인)과 토큰 생성/저장이 모두 포함되고, 클라이언트 인증과 응답 직렬화는 빠진다.
+
+    grant_type 은 요청에서 그대로 오는 값이라 설정된 grant type 이 아니면 "other" 로 묶는다.
+    발급마다 Timer.builder().register() 로 찾지 않도록 success 타이머는 미리 만들어두고,
+    나머지 outcome(예외 이름 등)은 처음 나올 때 한 번만 만들어서 다시 쓴다. (RepositoryMetrics 와 같은 방식)
+*/
+public class TimedTokenGranter implements TokenGranter {
+
+    private static final String OTHER = "other";
+    private static final String SUCCESS = "success";
+
+    private final TokenGranter delegate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<String, Timer>> timers;
+
+    public TimedTokenGranter(TokenGranter delegate, MeterRegistry meterRegistry, Set<String> grantTypes) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+
+        Map<String, Map<String, Timer>> timers = new HashMap<>();
+        for (String grantType : grantTypes) {
+            Map<String, Timer> outcomes = new ConcurrentHashMap<>();
+            outcomes.put(SUCCESS, register(grantType, SUCCESS));
+            timers.put(grantType, outcomes);
+        }
+        timers.put(OTHER, new ConcurrentHashMap<>());
+        this.timers = Map.copyOf(timers);
+    }
+
+    @Override
+    public OAuth2AccessToken grant(String grantType, TokenRequest tokenRequest) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            OAuth2AccessToken accessToken = delegate.grant(grantType, tokenRequest);
+            outcome = accessToken == null ? "unsupported" : SUCCESS;
+            return accessToken;
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            timer(grantType, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String grantType, String outcome) {
+        String type = grantType != null && timers.containsKey(grantType) ? grantType : OTHER;
+        Map<String, Timer> outcomes = timers.get(type);
+
+        Timer timer = outcomes.get(outcome);
+        if (timer == null) {
+            timer = outcomes.computeIfAbsent(outcome, o -> register(type, o));
+        }
+        return timer;
+    }
+
+    private Timer register(String grantType, String outcome) {
+        return Timer.builder("oauth.token.grant")
+                .description("OAuth2 token grant time")
+                .tag("grant.type", grantType)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
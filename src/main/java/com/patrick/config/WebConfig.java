@@ -0,0 +1,58 @@
+package com.patrick.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    jar 에 들어있는 Vue 앱(classpath:/static/) 캐시 설정.
+
+    - /static/** : Vue CLI 가 파일 이름에 내용 해시를 붙이므로(app.3f2a1c.js) 내용이 바뀌면 주소도 바뀐다.
+                   1년 동안 다시 확인하지 않도록 immutable 로 캐시한다.
+    - index.html : 해시가 없고 새 번들의 주소를 담고 있으므로 매번 Last-Modified 로 확인한다. (바뀌지 않았으면 304)
+
+    resourceChain(true) 는 찾은 리소스를 메모리에 캐시해서 요청마다 클래스패스를 뒤지지 않는다.
+    미리 압축된 .br / .gz 파일이 있으면 그대로 내려준다. (EncodedResourceResolver)
+    그 밖의 경로(/docs 등)는 스프링 부트 기본 핸들러(/**)와 spring.resources.chain.* 설정을 따른다.
+*/
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final CacheControl IMMUTABLE = new ImmutableCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic());
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/static/**")
+                .addResourceLocations("classpath:/static/static/")
+                .setCacheControl(IMMUTABLE)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        registry.addResourceHandler("/index.html")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+
+    /*
+        스프링 5.1 의 CacheControl 에는 immutable 지시자가 없어서 헤더 값 끝에 붙인다.
+    */
+    private static class ImmutableCacheControl extends CacheControl {
+
+        private final CacheControl delegate;
+
+        ImmutableCacheControl(CacheControl delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getHeaderValue() {
+            return delegate.getHeaderValue() + ", immutable";
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.patrick.enrollments;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.patrick.accounts.Account;
+import com.patrick.accounts.AccountSerializer;
+import com.patrick.events.Event;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Builder @AllArgsConstructor @NoArgsConstructor @Getter @Setter
+@EqualsAndHashCode(of = "id")
+@Entity
+/*
+    한 사람은 이벤트 하나에 한 번만 신청할 수 있다. (동시에 두 번 신청해도 유니크 제약에 걸림)
+    대기자 명단은 (event, status, requestedAt, id) 인덱스 순서로 읽는다.
+*/
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_event_account", columnNames = {"event_id", "account_id"}),
+        indexes = @Index(name = "idx_enrollment_event_status_requested", columnList = "event_id,status,requestedAt,id"))
+public class Enrollment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
+    private Long id;
+
+    // 응답에는 event 링크로 내려준다.
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JsonIgnore
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JsonSerialize(using = AccountSerializer.class)
+    private Account account;
+
+    @Enumerated(EnumType.STRING)
+    private EnrollmentStatus status;
+
+    private LocalDateTime requestedAt;
+}
@@ -0,0 +1,127 @@
+package com.patrick.enrollments;
+
+import com.patrick.accounts.Account;
+import com.patrick.accounts.CurrentUser;
+import com.patrick.common.ErrorResource;
+import com.patrick.events.Event;
+import com.patrick.events.EventCache;
+import com.patrick.events.EventLinks;
+import com.patrick.events.EventRepository;
+import com.patrick.events.EventStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Optional;
+
+/*
+    현재 사용자의 이벤트 참가 신청. 한 사람은 이벤트마다 신청 하나만 가진다.
+*/
+@Controller
+@RequestMapping(value = "/api/events/{eventId}/enrollments", produces = MediaTypes.HAL_JSON_UTF8_VALUE)
+public class EnrollmentController {
+
+    private static final Link PROFILE = new Link("/docs/index.html/#resources-enrollments").withRel("profile");
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EventCache eventCache;
+
+    @Autowired
+    EventLinks eventLinks;
+
+    /*
+        자리가 있으면 ENROLLED, 정원이 찼으면 WAITING(대기자)으로 201 을 돌려준다.
+    */
+    @PostMapping
+    public ResponseEntity enroll(@PathVariable Integer eventId, @CurrentUser Account currentUser){
+
+        Optional<Event> eventOptional = this.eventCache.get(eventId, this.eventRepository::findById);
+
+        if(eventOptional.isEmpty()){
+            return ResponseEntity.notFound().build();
+        }
+
+        Event event = eventOptional.get();
+
+        if(event.getEventStatus() != EventStatus.BEGAN_ENROLLMEND){
+            Errors errors = new MapBindingResult(new HashMap<>(), "enrollment");
+            errors.reject("notOpen", "Enrollment is not open for this event");
+            return ResponseEntity.badRequest().body(new ErrorResource(errors));
+        }
+
+        // 중복 신청은 대부분 여기서 걸러지고, 동시에 들어온 경우는 유니크 제약에 걸린다.
+        if(this.enrollmentRepository.existsByEventIdAndAccountId(eventId, currentUser.getId())){
+            return new ResponseEntity(HttpStatus.CONFLICT);
+        }
+
+        Enrollment enrollment;
+        try {
+            enrollment = this.enrollmentService.enroll(event, currentUser);
+        } catch (DataIntegrityViolationException e) {
+            return new ResponseEntity(HttpStatus.CONFLICT);
+        }
+
+        URI uri = enrollmentsUri(eventId);
+        return ResponseEntity.created(uri).body(toResource(enrollment, eventId));
+    }
+
+    @GetMapping
+    public ResponseEntity getEnrollment(@PathVariable Integer eventId, @CurrentUser Account currentUser){
+
+        if(currentUser == null){
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+
+        return this.enrollmentRepository.findByEventIdAndAccountId(eventId, currentUser.getId())
+                .map(enrollment -> ResponseEntity.ok(toResource(enrollment, eventId)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /*
+        신청을 취소한다. 확정된 자리였다면 대기자 맨 앞 사람이 자리를 넘겨받는다.
+    */
+    @DeleteMapping
+    public ResponseEntity cancel(@PathVariable Integer eventId, @CurrentUser Account currentUser){
+
+        Optional<Event> eventOptional = this.eventCache.get(eventId, this.eventRepository::findById);
+
+        if(eventOptional.isEmpty() || !this.enrollmentService.cancel(eventOptional.get(), currentUser)){
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.noContent().build();
+    }
+
+    private EnrollmentResource toResource(Enrollment enrollment, Integer eventId){
+        return new EnrollmentResource(enrollment,
+                new Link(enrollmentsUri(eventId).toString()),
+                new Link(eventLinks.eventUri(eventId).toString(), "event"),
+                PROFILE);
+    }
+
+    private URI enrollmentsUri(Integer eventId){
+        return URI.create(eventLinks.eventUri(eventId) + "/enrollments");
+    }
+}
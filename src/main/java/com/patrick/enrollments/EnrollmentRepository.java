@@ -0,0 +1,19 @@
+package com.patrick.enrollments;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    long countByEventIdAndStatus(Integer eventId, EnrollmentStatus status);
+
+    boolean existsByEventIdAndAccountId(Integer eventId, Integer accountId);
+
+    Optional<Enrollment> findByEventIdAndAccountId(Integer eventId, Integer accountId);
+
+    /*
+        대기자 명단의 맨 앞. (먼저 신청한 순서)
+    */
+    Optional<Enrollment> findFirstByEventIdAndStatusOrderByRequestedAtAscIdAsc(Integer eventId, EnrollmentStatus status);
+}
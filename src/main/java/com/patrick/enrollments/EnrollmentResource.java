@@ -0,0 +1,11 @@
+package com.patrick.enrollments;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Resource;
+
+public class EnrollmentResource extends Resource<Enrollment> {
+
+    public EnrollmentResource(Enrollment enrollment, Link... links) {
+        super(enrollment, links);
+    }
+}
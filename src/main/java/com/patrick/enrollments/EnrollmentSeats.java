@@ -0,0 +1,84 @@
+package com.patrick.enrollments;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    이벤트별로 확정(ENROLLED)된 자리 수를 메모리에서 센다.
+
+    자리가 남아있는 동안의 신청은 CAS 한 번으로 자리를 잡으므로 DB 의 이벤트 행을 잠그지 않는다.
+    카운터는 처음 쓸 때 DB 의 ENROLLED 건수로 채우므로 재시작해도 이어진다.
+    대기자 명단을 건드리는 작업(대기 등록, 취소와 승급)은 이벤트 id 로 고른 lock 하나(striped)를 잡고 한다.
+
+    카운터가 노드마다 따로 있으므로 인스턴스 하나로 운영하는 것을 전제로 한다.
+*/
+@Component
+public class EnrollmentSeats {
+
+    private static final int STRIPES = 64;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    private final ConcurrentMap<Integer, AtomicInteger> reserved = new ConcurrentHashMap<>();
+
+    private final Object[] locks = new Object[STRIPES];
+
+    public EnrollmentSeats() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public Object lockFor(Integer eventId) {
+        return locks[Math.floorMod(eventId.hashCode(), STRIPES)];
+    }
+
+    /*
+        limit 보다 적게 잡혀 있으면 자리 하나를 잡는다.
+    */
+    public boolean tryReserve(Integer eventId, int limit) {
+        AtomicInteger counter = counter(eventId);
+        while (true) {
+            int current = counter.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(Integer eventId) {
+        counter(eventId).decrementAndGet();
+    }
+
+    public int reserved(Integer eventId) {
+        return counter(eventId).get();
+    }
+
+    /*
+        DB 조회를 ConcurrentHashMap.computeIfAbsent 안에서 하면 같은 bin 의 다른 이벤트까지 막히므로
+        stripe lock 을 잡고 한 번만 채운다.
+    */
+    private AtomicInteger counter(Integer eventId) {
+        AtomicInteger counter = reserved.get(eventId);
+        if (counter != null) {
+            return counter;
+        }
+
+        synchronized (lockFor(eventId)) {
+            counter = reserved.get(eventId);
+            if (counter == null) {
+                counter = new AtomicInteger((int) enrollmentRepository.countByEventIdAndStatus(eventId, EnrollmentStatus.ENROLLED));
+                reserved.put(eventId, counter);
+            }
+            return counter;
+        }
+    }
+}
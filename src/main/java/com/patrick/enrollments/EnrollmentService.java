@@ -0,0 +1,128 @@
+package com.patrick.enrollments;
+
+import com.patrick.accounts.Account;
+import com.patrick.events.Event;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/*
+    참가 신청과 취소.
+
+    자리가 남아있으면 EnrollmentSeats 에서 CAS 로 자리를 잡고 INSERT 한 번으로 끝난다. (lock 없음)
+    자리가 없을 때만 이벤트의 stripe lock 을 잡고 대기자(WAITING)로 넣는다.
+    ENROLLED 가 빠지면(취소, 저장 실패) 같은 lock 안에서 자리를 대기자 맨 앞 사람에게 넘기고,
+    대기자가 없을 때만 카운터를 돌려준다. 그래서 새로 온 신청이 대기자보다 먼저 자리를 가져가지 않는다.
+
+    lock 은 트랜잭션 바깥에서 잡아야 커밋까지 다른 스레드가 끼어들지 못한다.
+*/
+@Service
+public class EnrollmentService {
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EnrollmentSeats enrollmentSeats;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public EnrollmentService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /*
+        이미 신청한 경우 유니크 제약 때문에 DataIntegrityViolationException 이 난다.
+    */
+    public Enrollment enroll(Event event, Account account) {
+        Integer eventId = event.getId();
+        int limit = event.getLimitOfEnrollment();
+
+        // 정원이 0 이면 제한이 없다.
+        if (limit <= 0) {
+            return save(event, account, EnrollmentStatus.ENROLLED);
+        }
+
+        if (enrollmentSeats.tryReserve(eventId, limit)) {
+            return saveReserved(event, account);
+        }
+
+        synchronized (enrollmentSeats.lockFor(eventId)) {
+            // lock 을 기다리는 동안 취소로 빈 자리는 대기자에게 넘어갔으므로 여기서 잡히는 자리는 대기자가 없을 때뿐이다.
+            if (enrollmentSeats.tryReserve(eventId, limit)) {
+                return saveReserved(event, account);
+            }
+            return save(event, account, EnrollmentStatus.WAITING);
+        }
+    }
+
+    /*
+        취소할 신청이 없으면 false.
+    */
+    public boolean cancel(Event event, Account account) {
+        Integer eventId = event.getId();
+
+        synchronized (enrollmentSeats.lockFor(eventId)) {
+            Boolean releaseSeat = transactionTemplate.execute(status -> {
+                Optional<Enrollment> enrollment = enrollmentRepository.findByEventIdAndAccountId(eventId, account.getId());
+                if (enrollment.isEmpty()) {
+                    return null;
+                }
+
+                enrollmentRepository.delete(enrollment.get());
+                return enrollment.get().getStatus() == EnrollmentStatus.ENROLLED
+                        && event.getLimitOfEnrollment() > 0
+                        && !promoteNextWaiter(eventId);
+            });
+
+            if (releaseSeat == null) {
+                return false;
+            }
+            if (releaseSeat) {
+                enrollmentSeats.release(eventId);
+            }
+            return true;
+        }
+    }
+
+    private Enrollment save(Event event, Account account, EnrollmentStatus status) {
+        return enrollmentRepository.save(Enrollment.builder()
+                .event(event)
+                .account(account)
+                .status(status)
+                .requestedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /*
+        자리를 잡았는데 저장하지 못했으면(중복 신청 등) 그 자리를 취소된 자리처럼 처리한다.
+    */
+    private Enrollment saveReserved(Event event, Account account) {
+        try {
+            return save(event, account, EnrollmentStatus.ENROLLED);
+        } catch (RuntimeException e) {
+            Integer eventId = event.getId();
+            synchronized (enrollmentSeats.lockFor(eventId)) {
+                Boolean promoted = transactionTemplate.execute(status -> promoteNextWaiter(eventId));
+                if (!Boolean.TRUE.equals(promoted)) {
+                    enrollmentSeats.release(eventId);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /*
+        트랜잭션과 lock 안에서 호출한다. 대기자가 없으면 false.
+    */
+    private boolean promoteNextWaiter(Integer eventId) {
+        Optional<Enrollment> next = enrollmentRepository
+                .findFirstByEventIdAndStatusOrderByRequestedAtAscIdAsc(eventId, EnrollmentStatus.WAITING);
+        next.ifPresent(enrollment -> enrollment.setStatus(EnrollmentStatus.ENROLLED));
+        return next.isPresent();
+    }
+}
@@ -0,0 +1,7 @@
+package com.patrick.enrollments;
+
+public enum EnrollmentStatus {
+
+    ENROLLED,
+    WAITING
+}
@@ -1,5 +1,6 @@
 package com.patrick.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.patrick.accounts.Account;
 import com.patrick.accounts.AccountSerializer;
@@ -11,10 +12,44 @@ import java.time.LocalDateTime;
 @Builder @AllArgsConstructor @NoArgsConstructor @Getter @Setter
 @EqualsAndHashCode(of = "id")
 @Entity
+/*
+    Keyset 페이징은 (정렬 키, id) 로 seek 하기 때문에 정렬 가능한 컬럼마다 id 를 붙인 복합 인덱스를 둔다.
+
+    EventSearchCondition 의 필터마다 사용할 인덱스가 있어야 한다. (EventSearchIndexTest 가 실행 계획으로 검사함)
+    상태/유무료/온오프라인처럼 값 종류가 적은 컬럼은 시작 일시를 붙여서 범위 조건과 함께 쓸 수 있게 한다.
+*/
+@Table(indexes = {
+        @Index(name = "idx_event_name_id", columnList = "name,id"),
+        @Index(name = "idx_event_begin_enrollment_id", columnList = "beginEnrollmentDateTime,id"),
+        @Index(name = "idx_event_close_enrollment_id", columnList = "closeEnrollmentDateTime,id"),
+        @Index(name = "idx_event_begin_event_id", columnList = "beginEventDateTime,id"),
+        @Index(name = "idx_event_end_event_id", columnList = "endEventDateTime,id"),
+        @Index(name = "idx_event_updated_at_id", columnList = "updatedAt,id"),
+        @Index(name = "idx_event_status_begin_event", columnList = "eventStatus,beginEventDateTime"),
+        @Index(name = "idx_event_free_begin_event", columnList = "free,beginEventDateTime"),
+        @Index(name = "idx_event_offline_begin_event", columnList = "offline,beginEventDateTime"),
+        @Index(name = "idx_event_base_price", columnList = "basePrice"),
+        @Index(name = "idx_event_manager", columnList = "manager_id")
+})
 public class Event {
 
-    @Id @GeneratedValue
+    /*
+        allocationSize 만큼 시퀀스 값을 미리 가져오는 pooled 옵티마이저를 사용한다.
+        (insert 마다 시퀀스를 조회하지 않음)
+    */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Integer id;
+
+    /*
+        낙관적 잠금(Optimistic Lock)용 버전.
+        응답 본문에는 넣지 않고 ETag 헤더로 내려준다.
+    */
+    @Version
+    @JsonIgnore
+    private Long version;
+
     private String name;
     private String description;
     private LocalDateTime beginEnrollmentDateTime;
@@ -37,8 +72,11 @@ public class Event {
         선택적으로 Serialize 하고싶다면
         @JsonSerialize(using = AccountSerializer.class)
         로 선언해준다.
+
+        응답에는 manager.id 만 나가므로 LAZY 로 두고 프록시에서 FK id 만 읽는다.
+        (프록시의 getId() 는 초기화하지 않기 때문에 목록 조회 시 매니저마다 select 가 나가지 않음)
     */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonSerialize(using = AccountSerializer.class)
     private Account manager;
 
@@ -53,6 +91,25 @@ public class Event {
     @Enumerated(EnumType.STRING)
     private EventStatus eventStatus = EventStatus.DRAFT;
 
+    /*
+        마지막으로 저장된 시각. export 에서 updatedSince 로 변경분만 가져갈때 사용한다.
+    */
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /*
+        manager 는 LAZY 프록시이거나 캐시에서 꺼낸 detached 객체일 수 있으므로 equals 대신 id 로 비교한다.
+    */
+    public boolean isManagedBy(Account account) {
+        return account != null && this.manager != null
+                && account.getId() != null && account.getId().equals(this.manager.getId());
+    }
+
     public void update() {
 
         //update Free
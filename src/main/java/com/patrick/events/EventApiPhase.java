@@ -0,0 +1,33 @@
+package com.patrick.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+    EventController 핸들러 안의 한 단계(조회, 검증, 매핑, 저장, 리소스 생성)에 걸린 시간. (JFR 이벤트)
+    같은 스레드에서 그 사이에 기록된 RepositoryCall 이벤트가 이 단계 안에서 실행된 쿼리다.
+
+    기록 중이 아니면 JFR 이 begin/commit 을 아무 일도 하지 않게 만들어서 비용이 거의 없다. (EventApiPhases)
+*/
+@Name("com.patrick.EventApiPhase")
+@Label("Event API Phase")
+@Category({"springboot-with-vuejs", "Event API"})
+@Description("One phase of an EventController handler")
+@StackTrace(false)
+class EventApiPhase extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Event Id")
+    int eventId;
+
+    @Label("Account Id")
+    int accountId;
+}
@@ -0,0 +1,77 @@
+package com.patrick.events;
+
+import com.patrick.accounts.Account;
+import com.patrick.config.RepositoryCallContext;
+import jdk.jfr.EventType;
+
+/*
+    핸들러 하나의 단계를 차례로 EventApiPhase 이벤트로 남긴다.
+    next() 는 앞 단계를 끝내고 다음 단계를 시작하고, close() 는 마지막 단계를 끝낸다.
+
+        try (EventApiPhases phases = EventApiPhases.start("updateEvent", id, currentUser)) {
+            phases.next("findById");
+            ...
+            phases.next("save");
+            ...
+        }
+
+    JFR 기록이 꺼져 있으면 이벤트 객체를 만들지 않는다.
+    스레드 사이에 넘기지 않고 한 스레드 안에서만 쓴다.
+    시작부터 close() 까지 eventId / accountId 를 RepositoryCallContext 에 두어서 RepositoryCall 이벤트에도 남긴다.
+*/
+class EventApiPhases implements AutoCloseable {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(EventApiPhase.class);
+
+    private final String endpoint;
+    private final int accountId;
+    private int eventId;
+    private EventApiPhase current;
+
+    private EventApiPhases(String endpoint, Integer eventId, Account account) {
+        this.endpoint = endpoint;
+        this.eventId = eventId == null ? 0 : eventId;
+        this.accountId = account == null || account.getId() == null ? 0 : account.getId();
+        RepositoryCallContext.set(this.eventId, this.accountId);
+    }
+
+    static EventApiPhases start(String endpoint, Integer eventId, Account account) {
+        return new EventApiPhases(endpoint, eventId, account);
+    }
+
+    /*
+        생성처럼 저장한 뒤에야 id 를 아는 경우 다음 단계부터 이 id 를 쓴다.
+    */
+    void eventId(Integer eventId) {
+        this.eventId = eventId == null ? 0 : eventId;
+        RepositoryCallContext.set(this.eventId, accountId);
+    }
+
+    void next(String phase) {
+        endPhase();
+        if (!EVENT_TYPE.isEnabled()) {
+            return;
+        }
+
+        EventApiPhase event = new EventApiPhase();
+        event.endpoint = endpoint;
+        event.phase = phase;
+        event.eventId = eventId;
+        event.accountId = accountId;
+        event.begin();
+        current = event;
+    }
+
+    @Override
+    public void close() {
+        endPhase();
+        RepositoryCallContext.clear();
+    }
+
+    private void endPhase() {
+        if (current != null) {
+            current.commit();
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.patrick.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.validation.Errors;
+
+/*
+    배치 생성 요청의 항목별 결과.
+    errors 는 ErrosSerializer 로 단건 생성의 400 응답과 같은 모양으로 내려간다.
+*/
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventBatchItem {
+
+    public enum Status {
+        CREATED, INVALID
+    }
+
+    private final int index;
+    private final Status status;
+    private final Event event;
+    private final Errors errors;
+
+    private EventBatchItem(int index, Status status, Event event, Errors errors) {
+        this.index = index;
+        this.status = status;
+        this.event = event;
+        this.errors = errors;
+    }
+
+    public static EventBatchItem created(int index, Event event) {
+        return new EventBatchItem(index, Status.CREATED, event, null);
+    }
+
+    public static EventBatchItem invalid(int index, Errors errors) {
+        return new EventBatchItem(index, Status.INVALID, null, errors);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /*
+        저장한 뒤에 채워지는 id
+    */
+    public Integer getId() {
+        return event == null ? null : event.getId();
+    }
+
+    public Errors getErrors() {
+        return errors;
+    }
+
+    @JsonIgnore
+    public Event getEvent() {
+        return event;
+    }
+}
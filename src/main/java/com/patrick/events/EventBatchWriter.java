@@ -0,0 +1,47 @@
+package com.patrick.events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+/*
+    이벤트 여러개를 한 트랜잭션에서 저장한다.
+
+    hibernate.jdbc.batch_size 마다 flush / clear 해서 insert 를 JDBC 배치로 묶고,
+    영속성 컨텍스트가 저장한 건수만큼 커지지 않도록 한다.
+*/
+@Service
+public class EventBatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Transactional
+    public List<Event> saveAll(List<Event> events) {
+        for (int i = 0; i < events.size(); i++) {
+            entityManager.persist(events.get(i));
+
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        eventPublisher.publishEvent(new EventSaved(events));
+        return events;
+    }
+}
@@ -0,0 +1,63 @@
+package com.patrick.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.patrick.config.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/*
+    이벤트 단건 조회(GET /api/events/{id})용 read-through 캐시.
+
+    사용자마다 달라지는 update-event 링크는 캐시하지 않고,
+    EventResource 는 요청마다 새로 만들기 때문에 Event 스냅샷만 캐시한다.
+*/
+@Component
+public class EventCache implements MeterBinder {
+
+    private final Cache<Integer, Event> cache;
+
+    public EventCache(AppProperties appProperties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(appProperties.getEventCacheMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(appProperties.getEventCacheExpireAfterWriteSeconds()))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Event> get(Integer id, Function<Integer, Optional<Event>> loader) {
+        // 없는 이벤트는 캐시하지 않는다. (null 을 돌려주면 Caffeine 이 저장하지 않음)
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void put(Event event) {
+        cache.put(event.getId(), event);
+    }
+
+    public void evict(Integer id) {
+        cache.invalidate(id);
+    }
+
+    /*
+        cache.gets(hit/miss), cache.evictions, cache.size 를 cache=events 태그로 노출한다.
+    */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "events");
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -4,19 +4,33 @@ import com.patrick.accounts.Account;
 import com.patrick.accounts.AccountAdapter;
 import com.patrick.accounts.CurrentUser;
 import com.patrick.common.ErrorResource;
-import org.modelmapper.ModelMapper;
+import com.patrick.common.RequestUris;
+import com.patrick.common.SliceResources;
+import com.patrick.config.AppProperties;
+import com.patrick.config.RequestExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.Resource;
-import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.event.AuthenticationCredentialsNotFoundEvent;
 import org.springframework.security.core.AuthenticatedPrincipal;
 import org.springframework.security.core.Authentication;
@@ -24,14 +38,29 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import javax.validation.Validator;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
 
 @Controller
 @RequestMapping(value="/api/events",produces = MediaTypes.HAL_JSON_UTF8_VALUE)
@@ -41,11 +70,46 @@ public class EventController {
     EventRepository eventRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    EventMapper eventMapper;
 
     @Autowired
     EventValidator eventValidator;
 
+    @Autowired
+    EventCache eventCache;
+
+    @Autowired
+    EventBatchWriter eventBatchWriter;
+
+    @Autowired
+    EventExporter eventExporter;
+
+    @Autowired
+    EventTextIndex eventTextIndex;
+
+    @Autowired
+    EventLinks eventLinks;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    /*
+        조회/저장은 톰캣 워커 스레드가 아니라 전용 풀에서 실행한다. (AsyncConfig)
+    */
+    @Autowired
+    @Qualifier("eventReadExecutor")
+    RequestExecutor eventReadExecutor;
+
+    @Autowired
+    @Qualifier("eventWriteExecutor")
+    RequestExecutor eventWriteExecutor;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    AppProperties appProperties;
+
     /*
         스프링 4.3 버전 부터 지원
 
@@ -60,109 +124,469 @@ public class EventController {
     */
 
     @PostMapping
-    public ResponseEntity createEvent(@RequestBody @Valid EventDto eventDto, Errors errors,
-                                      @CurrentUser Account currentUser){
+    public CompletableFuture<ResponseEntity> createEvent(@RequestBody @Valid EventDto eventDto, Errors errors,
+                                                         @CurrentUser Account currentUser){
 
         if(errors.hasErrors()){
             //return ResponseEntity.badRequest().body(errors);
-            return badRequest(errors);
+            return CompletableFuture.completedFuture(badRequest(errors));
         }
 
-        eventValidator.validate(eventDto,errors);
+        try (EventApiPhases phases = EventApiPhases.start("createEvent", null, currentUser)) {
+            phases.next("validate");
+            eventValidator.validate(eventDto,errors);
+        }
 
         if(errors.hasErrors()){
             //return ResponseEntity.badRequest().body(errors);
+            return CompletableFuture.completedFuture(badRequest(errors));
+        }
+
+        // 입력 검증은 DB 를 쓰지 않으므로 요청 스레드에서 끝내고, 저장만 쓰기 풀로 넘긴다.
+        return eventWriteExecutor.supply(() -> {
+            try (EventApiPhases phases = EventApiPhases.start("createEvent", null, currentUser)) {
+                phases.next("map");
+                Event event = eventMapper.toEvent(eventDto);
+                event.setManager(currentUser);
+
+                phases.next("save");
+                Event newEvent = eventRepository.save(event);
+                eventCache.put(newEvent);
+                eventPublisher.publishEvent(EventSaved.of(newEvent));
+
+                phases.eventId(newEvent.getId());
+                phases.next("resource");
+                URI createUri = eventLinks.eventUri(newEvent.getId());
+
+                EventResource eventResource = eventLinks.toResource(newEvent);
+                eventResource.add(eventLinks.events("query-events"));
+                eventResource.add(eventLinks.update(newEvent));
+                eventResource.add(EventLinks.PROFILE_CREATE);
+                return ResponseEntity.created(createUri).body(eventResource);
+            }
+        });
+    }
+
+    /*
+        이벤트 여러개를 한 번에 생성한다.
+        항목마다 검증해서 올바른 항목만 JDBC 배치로 저장하고, 항목별 결과(생성된 id 또는 에러)를 돌려준다.
+    */
+    @PostMapping("/batch")
+    public ResponseEntity createEvents(@RequestBody List<EventDto> eventDtos,
+                                       @CurrentUser Account currentUser){
+
+        if(eventDtos.size() > appProperties.getEventBatchMaxItems()){
+            Errors errors = new MapBindingResult(new HashMap<>(), "eventDtos");
+            errors.reject("tooManyItems", "Batch must not contain more than " + appProperties.getEventBatchMaxItems() + " events");
             return badRequest(errors);
         }
 
-        Event event = modelMapper.map(eventDto,Event.class);
-        event.update();
-        event.setManager(currentUser);
-        Event newEvent = eventRepository.save(event);
+        SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(validator);
+        List<EventBatchItem> items = new ArrayList<>(eventDtos.size());
+        List<Event> events = new ArrayList<>(eventDtos.size());
+
+        for (int i = 0; i < eventDtos.size(); i++) {
+            EventDto eventDto = eventDtos.get(i);
+
+            if(eventDto == null){
+                Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+                errors.reject("NotNull", "Event must not be null");
+                items.add(EventBatchItem.invalid(i, errors));
+                continue;
+            }
+
+            Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+            beanValidator.validate(eventDto, errors);
+            if(!errors.hasErrors()){
+                eventValidator.validate(eventDto, errors);
+            }
+
+            if(errors.hasErrors()){
+                items.add(EventBatchItem.invalid(i, errors));
+                continue;
+            }
+
+            Event event = eventMapper.toEvent(eventDto);
+            event.setManager(currentUser);
+            events.add(event);
+            items.add(EventBatchItem.created(i, event));
+        }
 
-        ControllerLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(newEvent.getId());
-        URI createUri = selfLinkBuilder.toUri();
+        eventBatchWriter.saveAll(events);
 
-        EventResource eventResource = new EventResource(event);
-        eventResource.add(linkTo(EventController.class).withRel("query-events"));
-        //eventResource.add(selfLinkBuilder.withSelfRel());
-        eventResource.add(selfLinkBuilder.withRel("update-event"));
-        eventResource.add(new Link("/docs/index.html/#resources-events-create").withRel("profile"));
-        return ResponseEntity.created(createUri).body(eventResource);
+        Resources<EventBatchItem> resources = new Resources<>(items);
+        resources.add(eventLinks.events("query-events"));
+        resources.add(EventLinks.PROFILE_BATCH);
+        return ResponseEntity.ok(resources);
     }
 
     @GetMapping
-    public ResponseEntity queryEvents(Pageable pageable, PagedResourcesAssembler assembler,
-                                      @CurrentUser Account account){
+    public CompletableFuture<ResponseEntity> queryEvents(Pageable pageable, PagedResourcesAssembler assembler,
+                                                         EventSearchCondition condition,
+                                                         @RequestParam(required = false) String after,
+                                                         @RequestParam(required = false) String before,
+                                                         @RequestParam(defaultValue = "false") boolean slice,
+                                                         @CurrentUser Account account){
+
+        return eventReadExecutor.supply(() -> {
+            try (EventApiPhases phases = EventApiPhases.start("queryEvents", null, account)) {
+                /*
+                    after / before 파라미터가 있으면 keyset(seek) 페이징으로 조회한다.
+                    첫 페이지는 after 를 빈 값으로 보내면 된다. ( ?after=&size=10&sort=name,DESC )
+                */
+                Specification<Event> spec = EventSpecifications.matches(condition);
+
+                if(after != null || before != null){
+                    return queryEventsBySeek(spec, pageable, after, before, account, phases);
+                }
+
+                /*
+                    slice=true 이면 전체 개수(count 쿼리) 없이 다음 페이지 존재 여부만 알려준다.
+                */
+                if(slice){
+                    return queryEventsBySlice(spec, pageable, account, phases);
+                }
+
+                phases.next("findAll");
+                Page<Event> page = this.eventRepository.findAll(spec, pageable);
+
+                phases.next("resource");
+                /*
+                    기준 링크를 주지 않으면 assembler 가 컨트롤러 매핑으로 링크를 만들어서 필터 파라미터가 빠진다.
+                    현재 요청 주소를 주면 page/size/sort 만 바꾸고 나머지 파라미터는 유지한다.
+                */
+                Link base = new Link(RequestUris.current().getRequestUri());
+                PagedResources<Resource<Event>> pagedResources = assembler.toResource(page, e -> eventLinks.toResource((Event) e), base);
+                pagedResources.add(EventLinks.PROFILE_LIST);
+
+                if(account != null){
+                    pagedResources.add(eventLinks.events("create-event"));
+                }
+
+                return ResponseEntity.ok(pagedResources);
+            }
+        });
+    }
+
+    private ResponseEntity queryEventsBySlice(Specification<Event> spec, Pageable pageable, Account account, EventApiPhases phases){
+
+        phases.next("findAllSliced");
+        Slice<Event> slice = this.eventRepository.findAllSliced(spec, pageable);
 
-        Page<Event> page = this.eventRepository.findAll(pageable);
+        phases.next("resource");
+        List<EventResource> content = slice.getContent().stream()
+                .map(eventLinks::toResource)
+                .collect(Collectors.toList());
 
-        PagedResources<Resource<Event>> pagedResources = assembler.toResource(page,e -> new EventResource((Event) e));
-        pagedResources.add(new Link("/docs/index.html/#resources-events-list").withRel("profile"));
+        SliceResources<EventResource> resources = new SliceResources<>(content, slice);
+        resources.add(new Link(RequestUris.current().requestUriBuilder().toUriString()).withSelfRel());
+
+        if(slice.hasNext()){
+            resources.add(pageLink(slice.getNumber() + 1).withRel(Link.REL_NEXT));
+        }
+        if(slice.hasPrevious()){
+            resources.add(pageLink(slice.getNumber() - 1).withRel(Link.REL_PREVIOUS));
+        }
+
+        resources.add(EventLinks.PROFILE_LIST);
 
         if(account != null){
-            pagedResources.add(linkTo(EventController.class).withRel("create-event"));
+            resources.add(eventLinks.events("create-event"));
         }
 
-        return ResponseEntity.ok(pagedResources);
+        return ResponseEntity.ok(resources);
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity getEvent(@PathVariable Integer id,
-                                   @CurrentUser Account currentUser){
+    private Link pageLink(int page){
+        return new Link(RequestUris.current().requestUriBuilder()
+                .replaceQueryParam("page", page)
+                .toUriString());
+    }
+
+    private ResponseEntity queryEventsBySeek(Specification<Event> spec, Pageable pageable, String after, String before, Account account,
+                                             EventApiPhases phases){
+
+        boolean backward = after == null;
+        String token = backward ? before : after;
+
+        EventCursor cursor;
+        try {
+            cursor = token.isBlank()
+                    ? EventCursor.start(pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id")))
+                    : EventCursor.decode(token);
+        } catch (IllegalArgumentException e) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "cursor");
+            errors.reject("wrongValue", e.getMessage());
+            return badRequest(errors);
+        }
 
-        Optional<Event> eventOptional = this.eventRepository.findById(id);
+        phases.next(backward ? "findAllBefore" : "findAllAfter");
+        Slice<Event> slice = backward
+                ? this.eventRepository.findAllBefore(spec, cursor, pageable.getPageSize())
+                : this.eventRepository.findAllAfter(spec, cursor, pageable.getPageSize());
 
-        if(eventOptional.isEmpty()){
-            return ResponseEntity.notFound().build();
+        phases.next("resource");
+        List<EventResource> content = slice.getContent().stream()
+                .map(eventLinks::toResource)
+                .collect(Collectors.toList());
+
+        Resources<EventResource> resources = new Resources<>(content);
+        resources.add(new Link(RequestUris.current().requestUriBuilder().toUriString()).withSelfRel());
+
+        if(!content.isEmpty()){
+            Event first = slice.getContent().get(0);
+            Event last = slice.getContent().get(slice.getNumberOfElements() - 1);
+
+            boolean hasNext = backward || slice.hasNext();
+            boolean hasPrev = backward ? slice.hasNext() : !cursor.isStart();
+
+            if(hasNext){
+                resources.add(seekLink("after", cursor.at(last)).withRel(Link.REL_NEXT));
+            }
+            if(hasPrev){
+                resources.add(seekLink("before", cursor.at(first)).withRel(Link.REL_PREVIOUS));
+            }
         }
 
-        Event event = eventOptional.get();
-        EventResource eventResource = new EventResource(event);
-        eventResource.add(new Link("/docs/index.html/#resources-events-get").withRel("profile"));
+        resources.add(EventLinks.PROFILE_LIST);
 
-        if (event.getManager().equals(currentUser)) {
-            eventResource.add(linkTo(EventController.class).slash(event.getId()).withRel("update-event"));
+        if(account != null){
+            resources.add(eventLinks.events("create-event"));
         }
 
-        return ResponseEntity.ok(eventResource);
+        return ResponseEntity.ok(resources);
     }
 
-    @PutMapping("{id}")
-    public ResponseEntity updateEvent(@PathVariable Integer id,
-                                      @RequestBody @Valid EventDto eventDto,
-                                      Errors errors,
-                                      @CurrentUser Account currentUser){
+    private Link seekLink(String direction, EventCursor cursor){
+        String href = RequestUris.current().requestUriBuilder()
+                .replaceQueryParam("after")
+                .replaceQueryParam("before")
+                .replaceQueryParam("page")
+                .replaceQueryParam("sort")
+                .replaceQueryParam(direction, cursor.encode())
+                .toUriString();
+        return new Link(href);
+    }
 
-        Optional<Event> eventOptional = this.eventRepository.findById(id);
+    /*
+        name / description 전문 검색. 결과는 검색 점수 순서이며 sort 파라미터는 무시한다.
+    */
+    @GetMapping("/search")
+    public ResponseEntity searchEvents(@RequestParam String q, Pageable pageable,
+                                       @CurrentUser Account account){
 
-        if(eventOptional.isEmpty()){
-            return ResponseEntity.notFound().build();
+        if(q.isBlank()){
+            Errors errors = new MapBindingResult(new HashMap<>(), "search");
+            errors.reject("wrongValue", "Search query must not be blank");
+            return badRequest(errors);
         }
 
-        if(errors.hasErrors()){
+        if(!EventTextIndex.isWithinResultWindow(pageable)){
+            Errors errors = new MapBindingResult(new HashMap<>(), "search");
+            errors.reject("wrongValue", "Search results are limited to the first " + EventTextIndex.MAX_RESULT_WINDOW + " hits");
             return badRequest(errors);
         }
 
-        this.eventValidator.validate(eventDto,errors);
+        Slice<Integer> ids = this.eventTextIndex.search(q, pageable);
 
-        if(errors.hasErrors()){
-            return badRequest(errors);
+        // 색인에는 있지만 이미 지워진 이벤트는 건너뛴다.
+        Map<Integer, Event> events = this.eventRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<EventResource> content = ids.getContent().stream()
+                .map(events::get)
+                .filter(Objects::nonNull)
+                .map(eventLinks::toResource)
+                .collect(Collectors.toList());
+
+        SliceResources<EventResource> resources = new SliceResources<>(content, ids);
+        resources.add(new Link(RequestUris.current().requestUriBuilder().toUriString()).withSelfRel());
+
+        if(ids.hasNext()){
+            resources.add(pageLink(ids.getNumber() + 1).withRel(Link.REL_NEXT));
         }
+        if(ids.hasPrevious()){
+            resources.add(pageLink(ids.getNumber() - 1).withRel(Link.REL_PREVIOUS));
+        }
+
+        resources.add(EventLinks.PROFILE_SEARCH);
+
+        if(account != null){
+            resources.add(eventLinks.events("create-event"));
+        }
+
+        return ResponseEntity.ok(resources);
+    }
+
+    /*
+        전체 이벤트를 NDJSON(한 줄에 이벤트 하나)으로 스트리밍한다.
+        updatedSince 를 주면 그 이후에 저장된 이벤트만 내보낸다.
+    */
+    @GetMapping(value = "/export", produces = EventExporter.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince){
+
+        StreamingResponseBody body = out -> eventExporter.export(updatedSince, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EventExporter.NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity> getEvent(@PathVariable Integer id,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                      @CurrentUser Account currentUser){
+
+        return eventReadExecutor.supply(() -> {
+            try (EventApiPhases phases = EventApiPhases.start("getEvent", id, currentUser)) {
+                phases.next("findById");
+                Optional<Event> eventOptional = this.eventCache.get(id, this.eventRepository::findById);
+
+                if(eventOptional.isEmpty()){
+                    return ResponseEntity.notFound().build();
+                }
+
+                Event event = eventOptional.get();
+
+                // 클라이언트가 가진 버전과 같으면 본문을 만들지 않고 304 로 응답한다.
+                String eTag = eTag(event);
+                if (eTagMatches(ifNoneMatch, eTag, true)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                }
+
+                phases.next("resource");
+                EventResource eventResource = eventLinks.toResource(event);
+                eventResource.add(EventLinks.PROFILE_GET);
+
+                if (event.isManagedBy(currentUser)) {
+                    eventResource.add(eventLinks.update(event));
+                }
+
+                // update-event 링크는 사용자마다 다르기 때문에 Authorization 헤더별로 캐시해야 한다.
+                return ResponseEntity.ok()
+                        .eTag(eTag)
+                        .varyBy(HttpHeaders.AUTHORIZATION)
+                        .body(eventResource);
+            }
+        });
+    }
+
+    @PutMapping("{id}")
+    public CompletableFuture<ResponseEntity> updateEvent(@PathVariable Integer id,
+                                                         @RequestBody @Valid EventDto eventDto,
+                                                         Errors errors,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @CurrentUser Account currentUser){
+
+        return eventWriteExecutor.supply(() -> {
+            try (EventApiPhases phases = EventApiPhases.start("updateEvent", id, currentUser)) {
+                phases.next("findById");
+                Optional<Event> eventOptional = this.eventRepository.findById(id);
+
+                if(eventOptional.isEmpty()){
+                    return ResponseEntity.notFound().build();
+                }
+
+                if(errors.hasErrors()){
+                    return badRequest(errors);
+                }
+
+                phases.next("validate");
+                this.eventValidator.validate(eventDto,errors);
+
+                if(errors.hasErrors()){
+                    return badRequest(errors);
+                }
+
+                Event existingEvent = eventOptional.get();
+                if (!existingEvent.isManagedBy(currentUser)) {
+                    return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+                }
+
+                // If-Match 로 보낸 버전이 현재 버전과 다르면 다른 사람이 먼저 수정한 것이므로 412
+                if (ifMatch != null && !eTagMatches(ifMatch, eTag(existingEvent), false)) {
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(eTag(existingEvent)).build();
+                }
+
+                phases.next("map");
+                this.eventMapper.update(eventDto,existingEvent);
+
+                phases.next("save");
+                Event savedEvent;
+                try {
+                    savedEvent = this.eventRepository.save(existingEvent);
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    // 조회와 저장 사이에 다른 요청이 먼저 저장한 경우 (@Version 충돌)
+                    this.eventCache.evict(id);
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                }
+
+                this.eventCache.put(savedEvent);
+                this.eventPublisher.publishEvent(EventSaved.of(savedEvent));
+                phases.next("resource");
+                EventResource eventResource = eventLinks.toResource(savedEvent);
+
+                //이 응답을 설명해줄수 있는 링크(profile)를 제공해줘야 함.
+                eventResource.add(EventLinks.PROFILE_UPDATE);
+
+                return ResponseEntity.ok()
+                        .eTag(eTag(savedEvent))
+                        .body(eventResource);
+            }
+        });
+    }
 
-        Event existingEvent = eventOptional.get();
-        if (!existingEvent.getManager().equals(currentUser)) {
-            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+    private static String eTag(Event event){
+        return "\"" + event.getVersion() + "\"";
+    }
+
+    /*
+        If-None-Match 는 약한 비교(W/ 무시), If-Match 는 강한 비교를 한다. (RFC 7232)
+    */
+    private static boolean eTagMatches(String header, String eTag, boolean weak){
+        if (header == null) {
+            return false;
         }
 
-        this.modelMapper.map(eventDto,existingEvent);
-        Event savedEvent = this.eventRepository.save(existingEvent);
-        EventResource eventResource = new EventResource(savedEvent);
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                if (!weak) {
+                    continue;
+                }
+                value = value.substring(2);
+            }
+            if (value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        //이 응답을 설명해줄수 있는 링크(profile)를 제공해줘야 함.
-        eventResource.add(new Link("/docs/index.html/#resources-events-update").withRel("profile"));
+    /*
+        작업 풀이 가득 찬 경우(TaskRejectedException) 작업은 실행되지 않았으므로 기다리게 하지 않고 바로 503 으로 응답한다.
+    */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity serviceUnavailable(){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
 
-        return ResponseEntity.ok(eventResource);
+    /*
+        제한 시간 안에 끝나지 않은 경우(TimeoutException)
+        조회는 다시 해도 되므로 503 + Retry-After 로 응답한다.
+        저장은 작업 스레드에서 이미 실행 중이면 나중에 커밋될 수 있으므로 다시 요청하라고 하지 않는다. (504, Retry-After 없음)
+    */
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity timeout(HttpServletRequest request){
+        if(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())){
+            return serviceUnavailable();
+        }
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
     }
 
     private ResponseEntity badRequest(Errors errors){
@@ -0,0 +1,120 @@
+package com.patrick.events;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+
+/*
+    Keyset(seek) 페이징에서 사용하는 커서.
+
+    마지막으로 읽은 이벤트의 (정렬 키, id) 값을 들고 있으며,
+    클라이언트에게는 Base64 로 인코딩한 문자열(opaque cursor)로 내려준다.
+    정렬 키와 방향도 커서에 들어있기 때문에 다음 페이지 요청에는 sort 파라미터가 필요 없다.
+*/
+public class EventCursor {
+
+    public enum SortKey {
+
+        ID("id", Event::getId, Integer::valueOf),
+        NAME("name", Event::getName, s -> s),
+        BEGIN_ENROLLMENT_DATE_TIME("beginEnrollmentDateTime", Event::getBeginEnrollmentDateTime, LocalDateTime::parse),
+        CLOSE_ENROLLMENT_DATE_TIME("closeEnrollmentDateTime", Event::getCloseEnrollmentDateTime, LocalDateTime::parse),
+        BEGIN_EVENT_DATE_TIME("beginEventDateTime", Event::getBeginEventDateTime, LocalDateTime::parse),
+        END_EVENT_DATE_TIME("endEventDateTime", Event::getEndEventDateTime, LocalDateTime::parse);
+
+        private final String property;
+        private final Function<Event, Comparable<?>> extractor;
+        private final Function<String, Comparable<?>> parser;
+
+        SortKey(String property, Function<Event, Comparable<?>> extractor, Function<String, Comparable<?>> parser) {
+            this.property = property;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public static SortKey of(String property) {
+            return Arrays.stream(values())
+                    .filter(k -> k.property.equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported sort property: " + property));
+        }
+    }
+
+    private static final String SEPARATOR = "|";
+
+    private final SortKey sortKey;
+    private final Sort.Direction direction;
+    private final Comparable<?> value;
+    private final Integer id;
+
+    private EventCursor(SortKey sortKey, Sort.Direction direction, Comparable<?> value, Integer id) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.value = value;
+        this.id = id;
+    }
+
+    /*
+        첫 페이지를 가리키는 커서. (비교할 값이 없음)
+    */
+    public static EventCursor start(Sort.Order order) {
+        return new EventCursor(SortKey.of(order.getProperty()), order.getDirection(), null, null);
+    }
+
+    public EventCursor at(Event event) {
+        return new EventCursor(sortKey, direction, sortKey.extractor.apply(event), event.getId());
+    }
+
+    public boolean isStart() {
+        return id == null;
+    }
+
+    public String encode() {
+        String raw = direction.name() + SEPARATOR + sortKey.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            // 이름(name) 정렬 값에 구분자가 들어있을 수 있으므로 값은 항상 마지막에 둔다.
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+
+            SortKey sortKey = SortKey.valueOf(parts[1]);
+            return new EventCursor(sortKey,
+                    Sort.Direction.valueOf(parts[0]),
+                    sortKey.parser.apply(parts[3]),
+                    Integer.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Comparable<?> getValue() {
+        return value;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+}
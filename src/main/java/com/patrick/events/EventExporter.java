@@ -0,0 +1,67 @@
+package com.patrick.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/*
+    이벤트 전체(또는 updatedSince 이후 변경분)를 NDJSON 으로 내보낸다.
+
+    DB 커서로 한 건씩 읽어서 바로 JsonGenerator 로 쓰고 영속성 컨텍스트에서 떼어내기 때문에
+    이벤트가 몇 건이든 힙 사용량이 일정하다.
+*/
+@Component
+public class EventExporter {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime updatedSince, OutputStream out) throws IOException {
+
+        ObjectWriter writer = objectMapper.writerFor(Event.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
+
+        long count = 0;
+
+        try (Stream<Event> events = updatedSince == null
+                    ? eventRepository.streamAll()
+                    : eventRepository.streamUpdatedSince(updatedSince);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                Event event = iterator.next();
+                writer.writeValue(generator, event);
+                generator.writeRaw('\n');
+                entityManager.detach(event);
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,102 @@
+package com.patrick.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    이벤트 파일 업로드(import) 한 건의 진행 상태.
+    처리 중에도 GET /api/events/import/{id} 로 진행 상황을 볼 수 있도록 카운터는 Atomic 으로 둔다.
+*/
+public class EventImport {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Integer accountId;
+    private final Path errorReport;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String message;
+
+    public EventImport(Integer accountId, Path errorReport) {
+        this.accountId = accountId;
+        this.errorReport = errorReport;
+    }
+
+    void recordRead() {
+        read.incrementAndGet();
+    }
+
+    void recordImported(long count) {
+        imported.addAndGet(count);
+    }
+
+    void recordFailed() {
+        failed.incrementAndGet();
+    }
+
+    void complete() {
+        this.status = Status.COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    void fail(String message) {
+        this.status = Status.FAILED;
+        this.message = message;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @JsonIgnore
+    public Integer getAccountId() {
+        return accountId;
+    }
+
+    @JsonIgnore
+    public Path getErrorReport() {
+        return errorReport;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getRead() {
+        return read.get();
+    }
+
+    public long getImported() {
+        return imported.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
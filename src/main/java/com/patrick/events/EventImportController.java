@@ -0,0 +1,144 @@
+package com.patrick.events;
+
+import com.patrick.accounts.Account;
+import com.patrick.accounts.CurrentUser;
+import com.patrick.common.ErrorResource;
+import com.patrick.config.AppProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Optional;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+
+@Controller
+@RequestMapping(value = "/api/events/import", produces = MediaTypes.HAL_JSON_UTF8_VALUE)
+public class EventImportController {
+
+    @Autowired
+    EventImportService eventImportService;
+
+    @Autowired
+    EventLinks eventLinks;
+
+    @Autowired
+    AppProperties appProperties;
+
+    /*
+        요청 본문(NDJSON 또는 CSV)을 multipart 로 받지 않고 InputStream 으로 바로 읽는다.
+        저장은 뒤에서 진행되므로 202 와 함께 진행 상황을 볼 수 있는 주소(Location)를 돌려준다.
+        Content-Length 가 event-import-max-upload-bytes 보다 크면 본문을 읽지 않고 413 으로 응답한다.
+    */
+    @PostMapping(consumes = {EventExporter.NDJSON_VALUE, EventImportService.CSV_VALUE})
+    public ResponseEntity importEvents(InputStream body,
+                                       @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                       @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+                                       @CurrentUser Account currentUser) throws IOException {
+
+        if(contentLength != null && contentLength > appProperties.getEventImportMaxUploadBytes()){
+            throw new MaxUploadSizeExceededException(appProperties.getEventImportMaxUploadBytes());
+        }
+
+        EventImport eventImport = eventImportService.submit(body, contentType, currentUser);
+
+        ControllerLinkBuilder selfLinkBuilder = linkTo(EventImportController.class).slash(eventImport.getId());
+        return ResponseEntity.accepted().location(selfLinkBuilder.toUri()).body(toResource(eventImport));
+    }
+
+    @GetMapping("/{importId}")
+    public ResponseEntity getImport(@PathVariable String importId,
+                                    @CurrentUser Account currentUser){
+
+        Optional<EventImport> eventImport = findOwnImport(importId, currentUser);
+
+        if(eventImport.isEmpty()){
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(toResource(eventImport.get()));
+    }
+
+    /*
+        실패한 레코드 목록(NDJSON). 한 줄에 { "record": 번호, "errors" 또는 "message": ... }
+    */
+    @GetMapping(value = "/{importId}/errors", produces = EventExporter.NDJSON_VALUE)
+    public ResponseEntity<FileSystemResource> getImportErrors(@PathVariable String importId,
+                                                              @CurrentUser Account currentUser){
+
+        Optional<EventImport> eventImport = findOwnImport(importId, currentUser);
+
+        if(eventImport.isEmpty()){
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EventExporter.NDJSON_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"event-import-" + importId + "-errors.ndjson\"")
+                .body(new FileSystemResource(eventImport.get().getErrorReport()));
+    }
+
+    /*
+        import 를 시작한 사용자만 결과를 볼 수 있다.
+    */
+    private Optional<EventImport> findOwnImport(String importId, Account currentUser){
+        if(currentUser == null){
+            return Optional.empty();
+        }
+        return eventImportService.find(importId)
+                .filter(i -> currentUser.getId().equals(i.getAccountId()));
+    }
+
+    /*
+        import 풀의 큐가 가득 차면 기다리게 하지 않고 바로 503 으로 응답한다.
+    */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity serviceUnavailable(){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
+    /*
+        본문이 event-import-max-upload-bytes 를 넘으면 413 으로 응답한다.
+    */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity payloadTooLarge(MaxUploadSizeExceededException e){
+        Errors errors = new MapBindingResult(new HashMap<>(), "import");
+        errors.reject("tooLarge", "Import must not be larger than " + e.getMaxUploadSize() + " bytes");
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(new ErrorResource(errors));
+    }
+
+    private Resource<EventImport> toResource(EventImport eventImport){
+        ControllerLinkBuilder selfLinkBuilder = linkTo(EventImportController.class).slash(eventImport.getId());
+
+        Resource<EventImport> resource = new Resource<>(eventImport);
+        resource.add(selfLinkBuilder.withSelfRel());
+        if(eventImport.getFailed() > 0){
+            resource.add(selfLinkBuilder.slash("errors").withRel("errors"));
+        }
+        resource.add(eventLinks.events("query-events"));
+        resource.add(EventLinks.PROFILE_IMPORT);
+        return resource;
+    }
+}
@@ -0,0 +1,421 @@
+package com.patrick.events;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.patrick.accounts.Account;
+import com.patrick.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+    NDJSON / CSV 이벤트 파일을 스트리밍으로 읽어서 저장한다.
+
+    - 요청 본문은 임시 파일로 옮겨두고 import 전용 풀에서 처리한다. (요청은 바로 끝나고 진행 상황은 따로 조회한다)
+      임시 파일 크기는 event-import-max-upload-bytes 까지만 받는다. (413)
+    - 레코드를 하나씩 읽고 검증하기 때문에 파일 크기와 상관없이 메모리가 일정하다.
+      NDJSON 한 줄도 event-import-max-line-length 를 넘으면 읽지 않고 실패한 레코드로 기록한다.
+    - 올바른 레코드는 chunk 단위로 각각의 트랜잭션에서 저장한다.
+      잘못된 레코드나 실패한 chunk 가 있어도 이미 커밋된 chunk 는 롤백되지 않는다.
+    - 실패한 레코드는 임시 파일(에러 리포트)에 NDJSON 으로 기록한다.
+*/
+@Service
+@Slf4j
+public class EventImportService {
+
+    public static final String CSV_VALUE = "text/csv";
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    EventValidator eventValidator;
+
+    @Autowired
+    EventMapper eventMapper;
+
+    @Autowired
+    EventBatchWriter eventBatchWriter;
+
+    @Autowired
+    AppProperties appProperties;
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    /*
+        import 는 요청 제한 시간이 있는 RequestExecutor 대신 따로 둔 작은 풀에서 끝까지 실행한다.
+        스레드 하나가 chunk 를 저장하는 동안에만 커넥션을 쓰므로 기본값(1)이면 커넥션도 하나만 쓴다.
+        큐가 가득 차면 TaskRejectedException. (503)
+    */
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void startExecutor() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("event-import-");
+        executor.setCorePoolSize(appProperties.getEventImportPoolSize());
+        executor.setMaxPoolSize(appProperties.getEventImportPoolSize());
+        executor.setQueueCapacity(appProperties.getEventImportQueueCapacity());
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void stopExecutor() {
+        executor.shutdown();
+    }
+
+    /*
+        진행 중인 import 는 크기 제한 없이 따로 두고, 끝나면 finished 로 옮긴다.
+        finished 가 가득 차서 밀려나더라도 아직 에러 리포트를 쓰고 있는 import 가 지워지지 않는다.
+        진행 중인 import 수는 import 풀의 스레드 수 + 큐 크기를 넘지 않는다.
+    */
+    private final ConcurrentMap<String, EventImport> running = new ConcurrentHashMap<>();
+
+    /*
+        끝난 import 결과 중 최근 것만 보관하고, 밀려난 import 의 에러 리포트 파일은 지운다.
+    */
+    private final Cache<String, EventImport> finished = Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(Duration.ofHours(24))
+            .removalListener((String id, EventImport eventImport, RemovalCause cause) -> deleteErrorReport(eventImport))
+            .build();
+
+    public EventImport start(Account manager) throws IOException {
+        EventImport eventImport = new EventImport(manager.getId(), Files.createTempFile("event-import-", ".ndjson"));
+        running.put(eventImport.getId(), eventImport);
+        return eventImport;
+    }
+
+    /*
+        조회가 두 map 사이에서 놓치지 않도록 finished 에 먼저 넣고 running 에서 뺀다.
+    */
+    private void finish(EventImport eventImport) {
+        if (running.containsKey(eventImport.getId())) {
+            finished.put(eventImport.getId(), eventImport);
+            running.remove(eventImport.getId());
+        }
+    }
+
+    private void deleteErrorReport(EventImport eventImport) {
+        try {
+            Files.deleteIfExists(eventImport.getErrorReport());
+        } catch (IOException e) {
+            log.warn("Could not delete import error report {}", eventImport.getErrorReport(), e);
+        }
+    }
+
+    /*
+        본문을 임시 파일로 옮긴 뒤 import 풀에서 run 한다. 반환된 EventImport 는 RUNNING 상태이다.
+        본문이 event-import-max-upload-bytes 를 넘으면 거기까지 쓴 임시 파일을 지우고 MaxUploadSizeExceededException.
+    */
+    public EventImport submit(InputStream in, MediaType contentType, Account manager) throws IOException {
+        Path upload = Files.createTempFile("event-import-", ".upload");
+        try {
+            copy(in, upload, appProperties.getEventImportMaxUploadBytes());
+
+            EventImport eventImport = start(manager);
+            try {
+                executor.execute(() -> runUpload(eventImport, upload, contentType, manager));
+            } catch (TaskRejectedException e) {
+                running.remove(eventImport.getId());
+                deleteErrorReport(eventImport);
+                throw e;
+            }
+            return eventImport;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+    }
+
+    private static void copy(InputStream in, Path target, long maxBytes) throws IOException {
+        try (OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new MaxUploadSizeExceededException(maxBytes);
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void runUpload(EventImport eventImport, Path upload, MediaType contentType, Account manager) {
+        try (InputStream in = Files.newInputStream(upload)) {
+            run(eventImport, in, contentType, manager);
+        } catch (IOException e) {
+            log.warn("Event import {} failed", eventImport.getId(), e);
+            eventImport.fail(e.getMessage());
+            finish(eventImport);
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import upload {}", upload, e);
+            }
+        }
+    }
+
+    public Optional<EventImport> find(String id) {
+        EventImport eventImport = running.get(id);
+        return Optional.ofNullable(eventImport != null ? eventImport : finished.getIfPresent(id));
+    }
+
+    public void run(EventImport eventImport, InputStream in, MediaType contentType, Account manager) {
+        try (Writer report = Files.newBufferedWriter(eventImport.getErrorReport(), StandardCharsets.UTF_8)) {
+
+            ImportRun run = new ImportRun(eventImport, manager, report);
+
+            if (MediaType.parseMediaType(CSV_VALUE).isCompatibleWith(contentType)) {
+                readCsv(in, run);
+            } else {
+                readNdjson(in, run);
+            }
+
+            run.flush();
+            eventImport.complete();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Event import {} failed", eventImport.getId(), e);
+            eventImport.fail(e.getMessage());
+        } finally {
+            finish(eventImport);
+        }
+    }
+
+    /*
+        한 줄씩 읽어서 파싱한다. 한 줄이 깨져도 다음 줄부터 계속 읽을 수 있다.
+        record 번호는 파일의 줄 번호이다.
+    */
+    private void readNdjson(InputStream in, ImportRun run) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(EventDto.class);
+        int maxLineLength = appProperties.getEventImportMaxLineLength();
+        LineReader lines = new LineReader(new InputStreamReader(in, StandardCharsets.UTF_8), maxLineLength);
+
+        long lineNumber = 0;
+        while (lines.next()) {
+            lineNumber++;
+            if (lines.isTooLong()) {
+                run.accept(lineNumber, () -> {
+                    throw new IllegalArgumentException("Line must not be longer than " + maxLineLength + " characters");
+                });
+                continue;
+            }
+            String json = lines.line();
+            if (json.isBlank()) {
+                continue;
+            }
+            run.accept(lineNumber, () -> reader.readValue(json));
+        }
+    }
+
+    /*
+        BufferedReader.readLine 은 줄바꿈이 나올 때까지 한 줄을 통째로 메모리에 담는다.
+        maxLength 를 넘는 줄은 더 담지 않고 줄바꿈까지 버린 뒤 isTooLong 으로 알려준다.
+    */
+    private static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean tooLong;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        boolean next() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+
+            int c;
+            while ((c = read()) != -1) {
+                if (c == '\n') {
+                    return true;
+                }
+                if (tooLong) {
+                    continue;
+                }
+                if (line.length() == maxLength) {
+                    tooLong = true;
+                    line.setLength(0);
+                    continue;
+                }
+                line.append((char) c);
+            }
+            return tooLong || line.length() > 0;
+        }
+
+        String line() {
+            return line.toString();
+        }
+
+        boolean isTooLong() {
+            return tooLong;
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+    }
+
+    /*
+        첫 줄은 EventDto 필드 이름으로 된 헤더여야 한다.
+        행을 Map 으로 먼저 읽은 뒤 변환하기 때문에 값이 잘못된 행이 있어도 다음 행을 계속 읽는다.
+        record 번호는 헤더를 뺀 행 번호이다.
+    */
+    private void readCsv(InputStream in, ImportRun run) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+
+        try (MappingIterator<Map<String, String>> rows = csvMapper.readerFor(Map.class).with(schema).readValues(in)) {
+            long rowNumber = 0;
+            while (rows.hasNextValue()) {
+                rowNumber++;
+                run.accept(rowNumber, () -> objectMapper.convertValue(rows.nextValue(), EventDto.class));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordParser {
+        EventDto parse() throws IOException;
+    }
+
+    private class ImportRun {
+
+        private final EventImport eventImport;
+        private final Account manager;
+        private final Writer report;
+        private final SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(validator);
+        private final int chunkSize = appProperties.getEventImportChunkSize();
+
+        private final List<Event> chunk = new ArrayList<>();
+        private final List<Long> chunkRecords = new ArrayList<>();
+
+        ImportRun(EventImport eventImport, Account manager, Writer report) {
+            this.eventImport = eventImport;
+            this.manager = manager;
+            this.report = report;
+        }
+
+        void accept(long record, RecordParser parser) throws IOException {
+            eventImport.recordRead();
+
+            EventDto eventDto;
+            try {
+                eventDto = parser.parse();
+            } catch (IOException | IllegalArgumentException | RuntimeJsonMappingException e) {
+                reject(record, e.getMessage());
+                return;
+            }
+
+            if (eventDto == null) {
+                reject(record, "Event must not be null");
+                return;
+            }
+
+            Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+            beanValidator.validate(eventDto, errors);
+            if (!errors.hasErrors()) {
+                eventValidator.validate(eventDto, errors);
+            }
+
+            if (errors.hasErrors()) {
+                reject(record, errors);
+                return;
+            }
+
+            Event event = eventMapper.toEvent(eventDto);
+            event.setManager(manager);
+            chunk.add(event);
+            chunkRecords.add(record);
+
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            try {
+                eventBatchWriter.saveAll(chunk);
+                eventImport.recordImported(chunk.size());
+            } catch (RuntimeException e) {
+                /*
+                    이 chunk 만 롤백된다. 앞에서 커밋된 chunk 는 그대로 남는다.
+                    EntityManager 를 직접 쓰는 EventBatchWriter 는 예외를 변환하지 않아서
+                    DataAccessException 이 아니라 PersistenceException 이 올라올 수도 있다.
+                */
+                for (Long record : chunkRecords) {
+                    reject(record, "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            } finally {
+                chunk.clear();
+                chunkRecords.clear();
+            }
+        }
+
+        void reject(long record, Object detail) throws IOException {
+            eventImport.recordFailed();
+
+            String key = detail instanceof Errors ? "errors" : "message";
+            report.write(objectMapper.writeValueAsString(Map.of("record", record, key, detail == null ? "" : detail)));
+            report.write('\n');
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.patrick.events;
+
+import com.patrick.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/*
+    공개된 이벤트의 상태를 일시에 맞춰 다음 단계로 옮긴다. (EventTransition)
+
+    앞으로 horizon 안에 일어날 전이만 메모리(시각 순서로 정렬된 TreeSet)에 들고 있고,
+    남은 구간이 horizon 의 절반보다 짧아지면 다음 구간을 일시 컬럼 인덱스로 범위 조회해서 채운다.
+    tick 마다 하는 일은 시각이 된 전이를 꺼내서 단계별 bulk UPDATE 로 반영하는 것뿐이라 테이블을 훑지 않는다.
+
+    - 시작할 때 : 꺼져 있는 동안 지난 전이를 단계별 bulk UPDATE 한 번씩으로 따라잡고 현재부터 다시 채운다.
+    - 이벤트 저장 : 이미 채운 구간 안에 들어오는 전이는 바로 추가한다. (일시가 바뀐 경우)
+      일시가 늦춰져서 남아있는 예전 전이는 UPDATE 조건(일시 <= now)에 걸러지므로 그대로 둔다.
+    - 여러 노드가 같이 돌아도 UPDATE 는 앞 단계에 있는 이벤트만 바꾸므로 결과가 같다.
+*/
+@Component
+@Slf4j
+public class EventLifecycleScheduler {
+
+    private static final int UPDATE_CHUNK_SIZE = 500;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EventCache eventCache;
+
+    @Autowired
+    AppProperties appProperties;
+
+    private final TreeSet<EventTransition> transitions = new TreeSet<>();
+
+    /*
+        이 시각까지의 전이는 모두 transitions 에 들어있다. 시작하기 전에는 null.
+    */
+    private LocalDateTime loadedUntil;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        resume(LocalDateTime.now());
+    }
+
+    public synchronized void resume(LocalDateTime now) {
+        int caughtUp = 0;
+        for (EventTransition.Step step : EventTransition.Step.values()) {
+            caughtUp += eventRepository.advanceStatus(step, null, now);
+        }
+        if (caughtUp > 0) {
+            log.info("Caught up {} event status transitions", caughtUp);
+        }
+
+        transitions.clear();
+        loadedUntil = now;
+        load(now);
+    }
+
+    @Scheduled(fixedDelayString = "${my-app.event-lifecycle-tick-millis:1000}")
+    public void tick() {
+        advance(LocalDateTime.now());
+    }
+
+    public void advance(LocalDateTime now) {
+        List<EventTransition> due = new ArrayList<>();
+
+        synchronized (this) {
+            if (loadedUntil == null) {
+                return;
+            }
+
+            load(now);
+
+            while (!transitions.isEmpty() && !transitions.first().getAt().isAfter(now)) {
+                due.add(transitions.pollFirst());
+            }
+        }
+
+        if (!due.isEmpty()) {
+            apply(due, now);
+        }
+    }
+
+    /*
+        저장된 이벤트의 전이 중 이미 채운 구간 안에 있는 것을 추가한다.
+        (그 뒤의 전이는 구간을 채울 때 DB 에서 읽는다)
+    */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventSaved(EventSaved eventSaved) {
+        synchronized (this) {
+            if (loadedUntil == null) {
+                return;
+            }
+
+            for (Event event : eventSaved.getEvents()) {
+                for (EventTransition transition : EventTransition.of(event)) {
+                    if (!transition.getAt().isAfter(loadedUntil)) {
+                        transitions.add(transition);
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return transitions.size();
+    }
+
+    /*
+        호출하는 쪽에서 lock 을 잡고 있어야 한다.
+        조회하는 동안 lock 을 잡고 있어야 그 사이에 저장된 이벤트의 전이를 놓치지 않는다.
+    */
+    private void load(LocalDateTime now) {
+        Duration horizon = Duration.ofSeconds(appProperties.getEventLifecycleHorizonSeconds());
+        if (loadedUntil.isAfter(now.plus(horizon.dividedBy(2)))) {
+            return;
+        }
+
+        LocalDateTime until = now.plus(horizon);
+        transitions.addAll(eventRepository.findTransitions(loadedUntil, until));
+        loadedUntil = until;
+    }
+
+    private void apply(List<EventTransition> due, LocalDateTime now) {
+        Map<EventTransition.Step, List<Integer>> idsByStep = new EnumMap<>(EventTransition.Step.class);
+        for (EventTransition transition : due) {
+            idsByStep.computeIfAbsent(transition.getStep(), step -> new ArrayList<>()).add(transition.getEventId());
+        }
+
+        // 한 tick 에 여러 단계가 지났으면 앞 단계부터 반영해야 마지막 상태가 남는다.
+        try {
+            int updated = 0;
+            for (Map.Entry<EventTransition.Step, List<Integer>> entry : idsByStep.entrySet()) {
+                List<Integer> ids = entry.getValue();
+                for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+                    List<Integer> chunk = ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size()));
+                    updated += eventRepository.advanceStatus(entry.getKey(), chunk, now);
+                }
+                ids.forEach(eventCache::evict);
+            }
+            log.debug("Applied {} of {} due event status transitions", updated, due.size());
+        } catch (RuntimeException e) {
+            // 다음 tick 에 다시 시도한다. (이미 반영된 전이는 UPDATE 조건에 걸러짐)
+            log.warn("Failed to apply event status transitions, will retry", e);
+            synchronized (this) {
+                transitions.addAll(due);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.patrick.events;
+
+import com.patrick.common.RequestUris;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.core.AnnotationMappingDiscoverer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.net.URI;
+
+/*
+    이벤트 API 의 HAL 링크를 만든다.
+
+    linkTo(EventController.class) 는 호출할 때마다 컨트롤러의 @RequestMapping 을 찾고 현재 요청에서 base URI 를 다시 계산한다.
+    여기서는 컨트롤러 경로는 한 번만 찾아두고, base URI 는 요청마다 한 번만 계산한 RequestUris 의 값을 쓴다.
+    RequestExecutor 의 작업 스레드에서도 서블릿 요청을 읽지 않고 링크를 만들 수 있다.
+    profile 링크는 요청과 상관없으므로 상수로 재사용한다.
+*/
+@Component
+public class EventLinks {
+
+    public static final Link PROFILE_CREATE = profile("resources-events-create");
+    public static final Link PROFILE_BATCH = profile("resources-events-batch");
+    public static final Link PROFILE_LIST = profile("resources-events-list");
+    public static final Link PROFILE_SEARCH = profile("resources-events-search");
+    public static final Link PROFILE_GET = profile("resources-events-get");
+    public static final Link PROFILE_UPDATE = profile("resources-events-update");
+    public static final Link PROFILE_IMPORT = profile("resources-events-import");
+
+    private final String eventsPath;
+
+    public EventLinks() {
+        this.eventsPath = new AnnotationMappingDiscoverer(RequestMapping.class).getMapping(EventController.class);
+    }
+
+    private static Link profile(String section) {
+        return new Link("/docs/index.html/#" + section).withRel("profile");
+    }
+
+    public EventResource toResource(Event event) {
+        return new EventResource(event, self(event));
+    }
+
+    public Link self(Event event) {
+        return new Link(eventHref(event.getId()));
+    }
+
+    public Link update(Event event) {
+        return new Link(eventHref(event.getId()), "update-event");
+    }
+
+    public Link events(String rel) {
+        return new Link(eventsHref(), rel);
+    }
+
+    public URI eventUri(Integer id) {
+        return URI.create(eventHref(id));
+    }
+
+    private String eventHref(Integer id) {
+        return eventsHref() + "/" + id;
+    }
+
+    private String eventsHref() {
+        return RequestUris.current().getBaseUri() + eventsPath;
+    }
+}
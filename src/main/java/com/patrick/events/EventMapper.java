@@ -0,0 +1,51 @@
+package com.patrick.events;
+
+import org.springframework.stereotype.Component;
+
+/*
+    EventDto <-> Event 변환.
+
+    ModelMapper 는 요청마다 리플렉션으로 타입 맵을 매칭하기 때문에 직접 필드를 복사한다.
+    필드를 추가하면 여기에도 추가해야 하며, 빠뜨리면 EventMapperTest 가 실패한다.
+*/
+@Component
+public class EventMapper {
+
+    public Event toEvent(EventDto eventDto) {
+        Event event = new Event();
+        update(eventDto, event);
+        return event;
+    }
+
+    /*
+        eventDto 의 값으로 event 를 덮어쓰고, free / offline 값을 다시 계산한다.
+    */
+    public void update(EventDto eventDto, Event event) {
+        event.setName(eventDto.getName());
+        event.setDescription(eventDto.getDescription());
+        event.setBeginEnrollmentDateTime(eventDto.getBeginEnrollmentDateTime());
+        event.setCloseEnrollmentDateTime(eventDto.getCloseEnrollmentDateTime());
+        event.setBeginEventDateTime(eventDto.getBeginEventDateTime());
+        event.setEndEventDateTime(eventDto.getEndEventDateTime());
+        event.setLocation(eventDto.getLocation());
+        event.setBasePrice(eventDto.getBasePrice());
+        event.setMaxPrice(eventDto.getMaxPrice());
+        event.setLimitOfEnrollment(eventDto.getLimitOfEnrollment());
+        event.update();
+    }
+
+    public EventDto toEventDto(Event event) {
+        return EventDto.builder()
+                .name(event.getName())
+                .description(event.getDescription())
+                .beginEnrollmentDateTime(event.getBeginEnrollmentDateTime())
+                .closeEnrollmentDateTime(event.getCloseEnrollmentDateTime())
+                .beginEventDateTime(event.getBeginEventDateTime())
+                .endEventDateTime(event.getEndEventDateTime())
+                .location(event.getLocation())
+                .basePrice(event.getBasePrice())
+                .maxPrice(event.getMaxPrice())
+                .limitOfEnrollment(event.getLimitOfEnrollment())
+                .build();
+    }
+}
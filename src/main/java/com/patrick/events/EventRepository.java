@@ -1,7 +1,35 @@
 package com.patrick.events;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface EventRepository extends JpaRepository<Event,Integer> {
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface EventRepository extends JpaRepository<Event,Integer>, JpaSpecificationExecutor<Event>, EventRepositoryCustom {
+
+    /*
+        전체 이벤트를 forward-only 커서로 읽는다. 트랜잭션 안에서만 사용할 수 있고, 다 쓰면 close 해야 한다.
+        fetch size 만큼씩만 JDBC 드라이버가 읽어오기 때문에 건수와 상관없이 메모리가 일정하다.
+    */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select e from Event e order by e.id")
+    Stream<Event> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select e from Event e where e.updatedAt > :since order by e.updatedAt, e.id")
+    Stream<Event> streamUpdatedSince(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,48 @@
+package com.patrick.events;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/*
+    Specification 이 null 이거나 조건이 없으면 전체 이벤트를 대상으로 한다.
+*/
+public interface EventRepositoryCustom {
+
+    /*
+        findAll(Specification, Pageable) 과 같지만 count 쿼리를 날리지 않는다.
+        size + 1 개를 읽어서 다음 페이지가 있는지만 판단한다.
+    */
+    Slice<Event> findAllSliced(Specification<Event> spec, Pageable pageable);
+
+    /*
+        커서 이후의 이벤트를 (정렬 키, id) 기준으로 seek 해서 최대 size 개 조회.
+        OFFSET 을 쓰지 않기 때문에 페이지가 깊어져도 비용이 일정하다.
+    */
+    Slice<Event> findAllAfter(Specification<Event> spec, EventCursor cursor, int size);
+
+    /*
+        커서 이전의 이벤트를 최대 size 개 조회. (결과는 정렬 순서대로 돌려준다)
+        hasNext() 는 더 앞쪽에 이벤트가 남아있는지를 뜻한다.
+    */
+    Slice<Event> findAllBefore(Specification<Event> spec, EventCursor cursor, int size);
+
+    /*
+        (from, to] 사이에 일어날 공개된 이벤트의 상태 전이.
+        일시 컬럼마다 인덱스 범위 조회를 한 번씩 하며, 이미 그 단계에 도달한 이벤트는 제외한다.
+    */
+    List<EventTransition> findTransitions(LocalDateTime from, LocalDateTime to);
+
+    /*
+        step 의 시각이 now 이전인데 아직 앞 단계에 있는 이벤트의 상태를 bulk UPDATE 로 바꾸고 바뀐 건수를 돌려준다.
+        version 과 updatedAt 도 함께 올려서 ETag 와 export(updatedSince)에 반영되게 한다.
+        ids 가 null 이면 모든 이벤트가 대상이다. (재시작 직후 밀린 전이를 따라잡을 때)
+    */
+    @Transactional
+    int advanceStatus(EventTransition.Step step, Collection<Integer> ids, LocalDateTime now);
+}
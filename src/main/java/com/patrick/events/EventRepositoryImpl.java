@@ -0,0 +1,171 @@
+package com.patrick.events;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/*
+    EventRepository 의 커스텀 구현체.
+    Spring Data JPA 가 EventRepositoryCustom + "Impl" 이름 규칙으로 찾아서 붙여준다.
+*/
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Event> findAllSliced(Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+
+        Predicate filter = toPredicate(spec, root, query, cb);
+        if (filter != null) {
+            query.where(filter);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Event> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public Slice<Event> findAllAfter(Specification<Event> spec, EventCursor cursor, int size) {
+        List<Event> content = seek(spec, cursor, false, size);
+        return toSlice(content, size);
+    }
+
+    @Override
+    public Slice<Event> findAllBefore(Specification<Event> spec, EventCursor cursor, int size) {
+        List<Event> content = seek(spec, cursor, true, size);
+        Slice<Event> slice = toSlice(content, size);
+
+        List<Event> reversed = new ArrayList<>(slice.getContent());
+        Collections.reverse(reversed);
+        return new SliceImpl<>(reversed, slice.getPageable(), slice.hasNext());
+    }
+
+    @Override
+    public List<EventTransition> findTransitions(LocalDateTime from, LocalDateTime to) {
+        List<EventTransition> transitions = new ArrayList<>();
+
+        for (EventTransition.Step step : EventTransition.Step.values()) {
+            String property = "e." + step.getProperty();
+            List<Object[]> rows = entityManager.createQuery(
+                    "select e.id, " + property + " from Event e" +
+                    " where " + property + " > :from and " + property + " <= :to" +
+                    " and e.eventStatus in :statuses", Object[].class)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .setParameter("statuses", step.getPreviousStatuses())
+                    .getResultList();
+
+            for (Object[] row : rows) {
+                transitions.add(new EventTransition((Integer) row[0], step, (LocalDateTime) row[1]));
+            }
+        }
+        return transitions;
+    }
+
+    @Override
+    public int advanceStatus(EventTransition.Step step, Collection<Integer> ids, LocalDateTime now) {
+        String property = "e." + step.getProperty();
+        Query query = entityManager.createQuery(
+                "update Event e set e.eventStatus = :status, e.version = e.version + 1, e.updatedAt = :now" +
+                " where " + property + " <= :now and e.eventStatus in :statuses" +
+                (ids == null ? "" : " and e.id in :ids"))
+                .setParameter("status", step.getStatus())
+                .setParameter("now", now)
+                .setParameter("statuses", step.getPreviousStatuses());
+        if (ids != null) {
+            query.setParameter("ids", ids);
+        }
+        return query.executeUpdate();
+    }
+
+    /*
+        size + 1 개를 읽어서 다음 페이지가 있는지 판단한다. (count 쿼리 없음)
+    */
+    private Slice<Event> toSlice(List<Event> content, int size) {
+        boolean hasNext = content.size() > size;
+        List<Event> page = hasNext ? content.subList(0, size) : content;
+        return new SliceImpl<>(new ArrayList<>(page), PageRequest.of(0, size), hasNext);
+    }
+
+    private Predicate toPredicate(Specification<Event> spec, Root<Event> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return spec == null ? null : spec.toPredicate(root, query, cb);
+    }
+
+    private List<Event> seek(Specification<Event> spec, EventCursor cursor, boolean backward, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+
+        // 뒤로 seek 할때는 비교 방향과 정렬 방향을 뒤집어서 읽은 뒤 결과를 다시 뒤집는다.
+        boolean ascending = cursor.getDirection().isAscending() != backward;
+
+        Path<Integer> id = root.get("id");
+        Path<Comparable> key = root.get(cursor.getSortKey().getProperty());
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = toPredicate(spec, root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (!cursor.isStart()) {
+            predicates.add(after(cb, key, id, cursor, ascending));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        List<Order> orders = new ArrayList<>();
+        if (cursor.getSortKey() != EventCursor.SortKey.ID) {
+            orders.add(ascending ? cb.asc(key) : cb.desc(key));
+        }
+        orders.add(ascending ? cb.asc(id) : cb.desc(id));
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate after(CriteriaBuilder cb, Expression<Comparable> key, Expression<Integer> id,
+                            EventCursor cursor, boolean ascending) {
+
+        if (cursor.getSortKey() == EventCursor.SortKey.ID) {
+            return ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+        }
+
+        Comparable value = cursor.getValue();
+
+        // (key, id) > (value, lastId)
+        Predicate beyondKey = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+        Predicate beyondId = ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+        return cb.or(beyondKey, cb.and(cb.equal(key, value), beyondId));
+    }
+}
@@ -5,7 +5,6 @@ import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Resource;
 import org.springframework.hateoas.ResourceSupport;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
 /*
 public class EventResource extends ResourceSupport {
 
@@ -26,10 +25,12 @@ public class EventResource extends ResourceSupport {
 ResourceSupport 하위 Resource 클래스의 getter 부분에 이미 @JsonUnwrapped
 가 있기 때문에 @JsonUnwrapped를 별도로 붙여줄 필요없이 그냥 된다.
 */
+/*
+    self 링크는 EventLinks.toResource() 에서 넣어준다.
+*/
 public class EventResource extends Resource<Event> {
 
     public EventResource(Event event, Link... links) {
         super(event, links);
-        add(linkTo(Event.class).slash(event.getId()).withSelfRel());
     }
 }
\ No newline at end of file
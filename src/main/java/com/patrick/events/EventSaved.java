@@ -0,0 +1,24 @@
+package com.patrick.events;
+
+import java.util.List;
+
+/*
+    이벤트가 저장(생성/수정)됐을 때 발행하는 애플리케이션 이벤트.
+    트랜잭션 안에서 발행하면 @TransactionalEventListener 가 커밋된 뒤에 받는다.
+*/
+public class EventSaved {
+
+    private final List<Event> events;
+
+    public EventSaved(List<Event> events) {
+        this.events = events;
+    }
+
+    public static EventSaved of(Event event) {
+        return new EventSaved(List.of(event));
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+}
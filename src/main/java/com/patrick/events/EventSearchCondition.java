@@ -0,0 +1,46 @@
+package com.patrick.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/*
+    GET /api/events 의 필터 파라미터. 값이 없는(null) 조건은 무시한다.
+
+    필드를 추가하면 EventSpecifications 에 조건을 추가하고,
+    Event 에 인덱스를 선언한 뒤 EventSearchIndexTest 에 실행 계획 검사를 추가해야 한다.
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSearchCondition {
+
+    private EventStatus eventStatus;
+
+    private Boolean free;
+
+    private Boolean offline;
+
+    private Integer managerId;
+
+    private Integer basePriceFrom;
+
+    private Integer basePriceTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventTo;
+}
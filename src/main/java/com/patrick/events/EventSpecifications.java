@@ -0,0 +1,53 @@
+package com.patrick.events;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/*
+    EventSearchCondition 을 JPA Specification 으로 바꾼다.
+    기간 조건은 From 은 포함(>=), To 는 제외(<) 한다.
+*/
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> matches(EventSearchCondition condition) {
+        if (condition == null) {
+            return Specification.where(null);
+        }
+
+        return Specification.where(equalTo("eventStatus", condition.getEventStatus()))
+                .and(equalTo("free", condition.getFree()))
+                .and(equalTo("offline", condition.getOffline()))
+                .and(managedBy(condition.getManagerId()))
+                .and(atLeast("basePrice", condition.getBasePriceFrom()))
+                .and(atMost("basePrice", condition.getBasePriceTo()))
+                .and(atLeast("beginEnrollmentDateTime", condition.getBeginEnrollmentFrom()))
+                .and(before("beginEnrollmentDateTime", condition.getBeginEnrollmentTo()))
+                .and(atLeast("beginEventDateTime", condition.getBeginEventFrom()))
+                .and(before("beginEventDateTime", condition.getBeginEventTo()));
+    }
+
+    private static Specification<Event> equalTo(String property, Object value) {
+        return value == null ? null : (root, query, cb) -> cb.equal(root.get(property), value);
+    }
+
+    // manager 를 join 하지 않고 FK 컬럼(manager_id)으로 비교한다.
+    private static Specification<Event> managedBy(Integer managerId) {
+        return managerId == null ? null : (root, query, cb) -> cb.equal(root.get("manager").get("id"), managerId);
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Event> atLeast(String property, T value) {
+        return value == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.<T>get(property), value);
+    }
+
+    private static Specification<Event> atMost(String property, Integer value) {
+        return value == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.<Integer>get(property), value);
+    }
+
+    private static Specification<Event> before(String property, LocalDateTime value) {
+        return value == null ? null : (root, query, cb) -> cb.lessThan(root.<LocalDateTime>get(property), value);
+    }
+}
@@ -0,0 +1,282 @@
+package com.patrick.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/*
+    이벤트 name / description 전문 검색용 메모리 역색인. (Lucene)
+
+    - 이벤트가 저장되면 EventSaved 를 받아서 커밋된 뒤에 색인한다.
+      searcher 는 ControlledRealTimeReopenThread 가 따로 다시 열어서 저장한 내용은 최대 1초 뒤에 검색된다.
+    - 애플리케이션이 뜰 때 EventRepository 에서 전체를 다시 색인한다.
+    - 검색 결과는 점수 순서의 이벤트 id 이다. (이름에 가중치 2)
+    - 접두어 검색(spr*)은 단어의 앞부분(edge n-gram)을 따로 색인한 필드에서 TermQuery 로 찾는다.
+      PrefixQuery 처럼 해당하는 단어를 모두 펼치지 않고, PrefixQuery 와 같이 상수 점수라서
+      상위 결과가 채워지면 나머지 문서는 건너뛴다. 접두어가 짧아서 많은 문서에 맞아도 비용이 크지 않다.
+    - 페이지는 앞에서 MAX_RESULT_WINDOW 건까지만 넘길 수 있다.
+*/
+@Component
+@Slf4j
+public class EventTextIndex implements DisposableBean {
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String PREFIX = "_prefix";
+
+    private static final Map<String, Float> WEIGHTS = Map.of(NAME, 2.0f, DESCRIPTION, 1.0f);
+    private static final Set<String> ID_ONLY = Set.of(ID);
+
+    // 이보다 긴 접두어는 PrefixQuery 로 찾는다. 긴 접두어는 펼쳐지는 단어가 적어서 느리지 않다.
+    private static final int MAX_PREFIX_LENGTH = 8;
+    private static final float PREFIX_TIE_BREAKER = 0.5f;
+
+    // 접두어 필드는 상수 점수로만 찾으므로 빈도, 위치, 길이(norms) 정보가 필요 없다.
+    private static final FieldType PREFIX_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+
+    static {
+        PREFIX_TYPE.setIndexOptions(IndexOptions.DOCS);
+        PREFIX_TYPE.setOmitNorms(true);
+        PREFIX_TYPE.freeze();
+    }
+
+    /*
+        offset + size 가 이보다 크면 검색하지 않는다. (깊은 페이지는 앞의 결과를 모두 모아야 해서 비싸다)
+    */
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final double MAX_STALE_SECONDS = 1.0;
+    private static final double MIN_STALE_SECONDS = 0.025;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final ByteBuffersDirectory directory = new ByteBuffersDirectory();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private final AtomicLong lastGeneration = new AtomicLong();
+
+    public EventTextIndex() throws IOException {
+        Analyzer prefixAnalyzer = new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new StandardTokenizer();
+                TokenStream stream = new EdgeNGramTokenFilter(new LowerCaseFilter(tokenizer), 1, MAX_PREFIX_LENGTH, false);
+                return new TokenStreamComponents(tokenizer, stream);
+            }
+        };
+        Analyzer indexAnalyzer = new PerFieldAnalyzerWrapper(analyzer,
+                Map.of(NAME + PREFIX, prefixAnalyzer, DESCRIPTION + PREFIX, prefixAnalyzer));
+
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(indexAnalyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, MAX_STALE_SECONDS, MIN_STALE_SECONDS);
+        this.reopenThread.setName("event-text-index-reopen");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+    }
+
+    /*
+        트랜잭션이 없으면(컨트롤러에서 바로 저장한 경우) 발행 즉시 색인한다.
+    */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventSaved(EventSaved saved) {
+        index(saved.getEvents());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        // 색인한 이벤트가 영속성 컨텍스트에 쌓이지 않도록 바로 detach 한다.
+        try (Stream<Event> events = eventRepository.streamAll().peek(entityManager::detach)) {
+            long count = rebuild(events);
+            log.info("Indexed {} events for full-text search", count);
+        }
+    }
+
+    public long rebuild(Stream<Event> events) {
+        try {
+            writer.deleteAll();
+            long count = 0;
+            for (Event event : (Iterable<Event>) events::iterator) {
+                writer.addDocument(toDocument(event));
+                count++;
+            }
+            searcherManager.maybeRefreshBlocking();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+        색인만 하고 searcher 는 다시 열지 않는다. (커밋 뒤 리스너가 refresh 를 기다리지 않도록)
+    */
+    public void index(Collection<Event> events) {
+        try {
+            for (Event event : events) {
+                long generation = writer.updateDocument(new Term(ID, String.valueOf(event.getId())), toDocument(event));
+                lastGeneration.accumulateAndGet(generation, Math::max);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+        지금까지 색인한 내용이 검색될 때까지 기다린다. (테스트에서 저장한 직후에 검색할 때)
+    */
+    public void awaitRefresh() throws InterruptedException {
+        reopenThread.waitForGeneration(lastGeneration.get());
+    }
+
+    /*
+        q 는 SimpleQueryParser 문법이다. (단어는 모두 포함(AND), "구문", -제외, 접두어*, a | b)
+        size + 1 개를 찾아서 다음 페이지가 있는지 판단한다.
+        offset + size 가 MAX_RESULT_WINDOW 를 넘으면 IllegalArgumentException.
+    */
+    public Slice<Integer> search(String q, Pageable pageable) {
+        if (!isWithinResultWindow(pageable)) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_RESULT_WINDOW + " hits");
+        }
+
+        Query query = new EventQueryParser(analyzer).parse(q);
+
+        int from = (int) pageable.getOffset();
+        int to = from + pageable.getPageSize();
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, to + 1);
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+
+                List<Integer> ids = new ArrayList<>(pageable.getPageSize());
+                for (int i = from; i < Math.min(to, scoreDocs.length); i++) {
+                    ids.add(Integer.valueOf(searcher.doc(scoreDocs[i].doc, ID_ONLY).get(ID)));
+                }
+                return new SliceImpl<>(ids, pageable, scoreDocs.length > to);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static boolean isWithinResultWindow(Pageable pageable) {
+        return pageable.getOffset() + pageable.getPageSize() <= MAX_RESULT_WINDOW;
+    }
+
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    private Document toDocument(Event event) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(event.getId()), Field.Store.YES));
+        if (event.getName() != null) {
+            document.add(new TextField(NAME, event.getName(), Field.Store.NO));
+            document.add(new Field(NAME + PREFIX, event.getName(), PREFIX_TYPE));
+        }
+        if (event.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, event.getDescription(), Field.Store.NO));
+            document.add(new Field(DESCRIPTION + PREFIX, event.getDescription(), PREFIX_TYPE));
+        }
+        return document;
+    }
+
+    /*
+        접두어는 *_prefix 필드의 상수 점수 TermQuery 로 바꾼다. 나머지 문법은 SimpleQueryParser 그대로이다.
+        필드 점수를 더하는 BooleanQuery 는 상위 결과가 채워져도 건너뛰지 못해서 (100만 건에서 10ms 이상)
+        가장 높은 필드 점수에 나머지의 절반을 더하는 DisjunctionMaxQuery 로 묶는다. 순서는 두 필드 모두 > 이름 > 설명.
+    */
+    private static class EventQueryParser extends SimpleQueryParser {
+
+        EventQueryParser(Analyzer analyzer) {
+            super(analyzer, WEIGHTS);
+            setDefaultOperator(BooleanClause.Occur.MUST);
+        }
+
+        @Override
+        protected Query newPrefixQuery(String text) {
+            String prefix = text.toLowerCase(Locale.ROOT);
+            if (prefix.length() > MAX_PREFIX_LENGTH) {
+                return super.newPrefixQuery(prefix);
+            }
+
+            List<Query> fields = new ArrayList<>(weights.size());
+            for (Map.Entry<String, Float> weight : weights.entrySet()) {
+                Query query = new ConstantScoreQuery(new TermQuery(new Term(weight.getKey() + PREFIX, prefix)));
+                fields.add(new BoostQuery(query, weight.getValue()));
+            }
+            return new DisjunctionMaxQuery(fields, PREFIX_TIE_BREAKER);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+}
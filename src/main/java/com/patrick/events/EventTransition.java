@@ -0,0 +1,116 @@
+package com.patrick.events;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/*
+    이벤트 하나가 특정 시각에 다음 상태로 넘어가는 전이.
+
+    DRAFT -> PUBLISHED 는 사람이 공개하는 것이고, 공개된 뒤부터는 네 개의 일시가 상태를 정한다.
+    PUBLISHED -> BEGAN_ENROLLMEND -> CLOSED_ENROLLMENT -> STARTED -> ENDED
+*/
+public class EventTransition implements Comparable<EventTransition> {
+
+    public enum Step {
+
+        BEGIN_ENROLLMENT(EventStatus.BEGAN_ENROLLMEND, "beginEnrollmentDateTime", Event::getBeginEnrollmentDateTime),
+        CLOSE_ENROLLMENT(EventStatus.CLOSED_ENROLLMENT, "closeEnrollmentDateTime", Event::getCloseEnrollmentDateTime),
+        BEGIN_EVENT(EventStatus.STARTED, "beginEventDateTime", Event::getBeginEventDateTime),
+        END_EVENT(EventStatus.ENDED, "endEventDateTime", Event::getEndEventDateTime);
+
+        private final EventStatus status;
+        private final String property;
+        private final Function<Event, LocalDateTime> extractor;
+
+        Step(EventStatus status, String property, Function<Event, LocalDateTime> extractor) {
+            this.status = status;
+            this.property = property;
+            this.extractor = extractor;
+        }
+
+        public EventStatus getStatus() {
+            return status;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        /*
+            이 단계로 넘어갈 수 있는 상태들. (공개된 뒤 이 단계보다 앞선 상태)
+            상태는 앞으로만 움직이므로 이미 지난 상태로 되돌리지 않는다.
+        */
+        public Set<EventStatus> getPreviousStatuses() {
+            Set<EventStatus> statuses = EnumSet.range(EventStatus.PUBLISHED, status);
+            statuses.remove(status);
+            return statuses;
+        }
+    }
+
+    private static final Comparator<EventTransition> ORDER = Comparator
+            .comparing(EventTransition::getAt)
+            .thenComparing(EventTransition::getStep)
+            .thenComparing(EventTransition::getEventId);
+
+    private final Integer eventId;
+    private final Step step;
+    private final LocalDateTime at;
+
+    public EventTransition(Integer eventId, Step step, LocalDateTime at) {
+        this.eventId = eventId;
+        this.step = step;
+        this.at = at;
+    }
+
+    /*
+        공개된 이벤트의 모든 전이. DRAFT 이벤트는 시간이 지나도 상태가 바뀌지 않는다.
+    */
+    public static List<EventTransition> of(Event event) {
+        List<EventTransition> transitions = new ArrayList<>();
+        if (event.getId() == null || event.getEventStatus() == null || event.getEventStatus() == EventStatus.DRAFT) {
+            return transitions;
+        }
+
+        Arrays.stream(Step.values())
+                .filter(step -> step.extractor.apply(event) != null)
+                .forEach(step -> transitions.add(new EventTransition(event.getId(), step, step.extractor.apply(event))));
+        return transitions;
+    }
+
+    public Integer getEventId() {
+        return eventId;
+    }
+
+    public Step getStep() {
+        return step;
+    }
+
+    public LocalDateTime getAt() {
+        return at;
+    }
+
+    @Override
+    public int compareTo(EventTransition other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EventTransition)) return false;
+        EventTransition that = (EventTransition) o;
+        return eventId.equals(that.eventId) && step == that.step && at.equals(that.at);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId, step, at);
+    }
+}
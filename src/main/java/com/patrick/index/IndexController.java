@@ -10,7 +10,9 @@ import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
 @RestController
 public class IndexController {
 
-    @GetMapping("/api")
+    public static final String PATH = "/api";
+
+    @GetMapping(PATH)
     public ResourceSupport index(){
         ResourceSupport index = new ResourceSupport();
         index.add(linkTo(EventController.class).withRel("events"));
@@ -1,18 +1,51 @@
 package com.patrick;
 
+import com.patrick.config.RateLimitFilter;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationProcessingFilter;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import javax.servlet.Filter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @ActiveProfiles("test")
 public class SpringbootWithVuejsApplicationTests {
 
+    @Autowired
+    FilterChainProxy filterChainProxy;
+
     @Test
     public void contextLoads() {
     }
 
+    /*
+        계정별 제한은 토큰 인증이 끝난 뒤에야 계정을 알 수 있다.
+    */
+    @Test
+    public void rateLimitFilterRunsAfterTokenAuthentication() {
+
+        SecurityFilterChain chain = filterChainProxy.getFilterChains().stream()
+                .filter(c -> c.getFilters().stream().anyMatch(f -> f instanceof RateLimitFilter))
+                .findFirst()
+                .orElseThrow();
+        List<Class<?>> filters = chain.getFilters().stream()
+                .map(Filter::getClass)
+                .collect(Collectors.toList());
+
+        assertThat(filters.indexOf(RateLimitFilter.class))
+                .isGreaterThan(filters.indexOf(OAuth2AuthenticationProcessingFilter.class))
+                .isGreaterThan(-1);
+        assertThat(filters).contains(OAuth2AuthenticationProcessingFilter.class);
+    }
 }
@@ -10,6 +10,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Set;
 
@@ -29,6 +30,12 @@ public class AccountServiceTest {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    AccountCache accountCache;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
     @Test
     public void findByUsername() {
 
@@ -55,4 +62,115 @@ public class AccountServiceTest {
         String username = "random@aa.com";
         accountService.loadUserByUsername(username);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void loadUserByUsername_Cached() {
+
+        //Given
+        String username = "cached@email.com";
+        this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        this.accountService.loadUserByUsername(username);
+        long hitCount = this.accountCache.stats().hitCount();
+
+        //When
+        UserDetails userDetails = this.accountService.loadUserByUsername(username);
+
+        //Then
+        assertThat(this.accountCache.stats().hitCount()).isEqualTo(hitCount + 1);
+        assertThat(this.passwordEncoder.matches("pass", userDetails.getPassword())).isTrue();
+    }
+
+    @Test
+    public void loadUserByUsername_After_Password_Change() {
+
+        //Given
+        String username = "changed@email.com";
+        Account account = this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("before")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        this.accountService.loadUserByUsername(username);
+
+        //When
+        Account changed = this.accountRepository.findById(account.getId()).get();
+        changed.setPassword("after");
+        this.accountService.saveAccount(changed);
+
+        //Then
+        UserDetails userDetails = this.accountService.loadUserByUsername(username);
+        assertThat(this.passwordEncoder.matches("after", userDetails.getPassword())).isTrue();
+    }
+
+    @Test
+    public void loadUserByUsername_After_Password_Change_Through_Repository() {
+
+        //Given
+        String username = "repository@email.com";
+        Account account = this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("before")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        this.accountService.loadUserByUsername(username);
+
+        //When
+        Account changed = this.accountRepository.findById(account.getId()).get();
+        changed.setPassword(this.passwordEncoder.encode("after"));
+        this.accountRepository.save(changed);
+
+        //Then
+        UserDetails userDetails = this.accountService.loadUserByUsername(username);
+        assertThat(this.passwordEncoder.matches("after", userDetails.getPassword())).isTrue();
+    }
+
+    @Test
+    public void loadUserByUsername_After_Role_Change_Through_Repository() {
+
+        //Given
+        String username = "revoked@email.com";
+        this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("pass")
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build());
+        this.accountService.loadUserByUsername(username);
+
+        //When
+        // account 행은 그대로이고 account_roles 만 바뀐다.
+        Account changed = this.accountRepository.findByEmail(username).get();
+        changed.getRoles().remove(AccountRole.ADMIN);
+        this.accountRepository.save(changed);
+
+        //Then
+        UserDetails userDetails = this.accountService.loadUserByUsername(username);
+        assertThat(userDetails.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    public void loadUserByUsername_After_Role_Change_In_Transaction() {
+
+        //Given
+        String username = "granted@email.com";
+        Account account = this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        this.accountService.loadUserByUsername(username);
+
+        //When
+        this.transactionTemplate.execute(status -> {
+            this.accountRepository.findById(account.getId()).get().getRoles().add(AccountRole.ADMIN);
+            return null;
+        });
+
+        //Then
+        UserDetails userDetails = this.accountService.loadUserByUsername(username);
+        assertThat(userDetails.getAuthorities()).extracting("authority").containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+    }
+}
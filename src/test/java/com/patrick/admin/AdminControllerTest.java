@@ -0,0 +1,247 @@
+package com.patrick.admin;
+
+import com.patrick.accounts.Account;
+import com.patrick.accounts.AccountRepository;
+import com.patrick.accounts.AccountRole;
+import com.patrick.accounts.AccountService;
+import com.patrick.common.BaseTestContoller;
+import com.patrick.common.TestDescription;
+import com.patrick.config.AppProperties;
+import com.patrick.events.Event;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class AdminControllerTest extends BaseTestContoller {
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AppProperties appProperties;
+
+    private String getBearerToken(String email, Set<AccountRole> roles) throws Exception {
+
+        if (this.accountRepository.findByEmail(email).isEmpty()) {
+            this.accountService.saveAccount(Account.builder()
+                    .email(email)
+                    .password("pass")
+                    .roles(roles)
+                    .build());
+        }
+
+        String responseBody = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                .param("username", email)
+                .param("password", "pass")
+                .param("grant_type", "password"))
+                .andReturn().getResponse().getContentAsString();
+
+        return "Bearer " + new Jackson2JsonParser().parseMap(responseBody).get("access_token");
+    }
+
+    @Test
+    @TestDescription("이벤트 캐시 통계를 조회하기")
+    public void caches() throws Exception {
+
+        // Given
+        Event event = this.eventRepository.save(Event.builder()
+                .name("cached event")
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .build());
+
+        performAsync(get("/api/events/{id}", event.getId()));
+        performAsync(get("/api/events/{id}", event.getId()));
+
+        // When & Then
+        this.mockMvc.perform(get("/admin/caches")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken("admin-test@email.com", Set.of(AccountRole.ADMIN))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("events.size").exists())
+                .andExpect(jsonPath("events.hitCount").exists())
+                .andExpect(jsonPath("events.missCount").exists())
+                .andExpect(jsonPath("events.evictionCount").exists())
+                .andExpect(jsonPath("accounts.hitCount").exists())
+        ;
+    }
+
+    @Test
+    @TestDescription("토큰 저장소 상태를 조회하기")
+    public void tokens() throws Exception {
+
+        this.mockMvc.perform(get("/admin/tokens")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken("admin-test@email.com", Set.of(AccountRole.ADMIN))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("capacity").exists())
+                .andExpect(jsonPath("accessTokens").isNumber())
+                .andExpect(jsonPath("refreshTokens").isNumber())
+                .andExpect(jsonPath("expiredEvictionCount").exists())
+                .andExpect(jsonPath("capacityEvictionCount").exists())
+                .andExpect(jsonPath("lookupMissCount").isNumber())
+        ;
+    }
+
+    @Test
+    @TestDescription("요청 작업 풀 상태를 조회하기")
+    public void executors() throws Exception {
+
+        performAsync(get("/api/events"));
+
+        this.mockMvc.perform(get("/admin/executors")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken("admin-test@email.com", Set.of(AccountRole.ADMIN))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("event-read.maxPoolSize").value(appProperties.getEventReadPoolSize()))
+                .andExpect(jsonPath("event-read.queueCapacity").value(appProperties.getEventReadQueueCapacity()))
+                .andExpect(jsonPath("event-read.completedTaskCount").isNumber())
+                .andExpect(jsonPath("event-read.rejectedCount").isNumber())
+                .andExpect(jsonPath("event-write.timeoutCount").isNumber())
+        ;
+    }
+
+    @Test
+    @TestDescription("요청 제한 규칙별 허용/거절 횟수를 조회하기")
+    public void rateLimits() throws Exception {
+
+        performAsync(get("/api/events"));
+
+        this.mockMvc.perform(get("/admin/rate-limits")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken("admin-test@email.com", Set.of(AccountRole.ADMIN))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("buckets").isNumber())
+                .andExpect(jsonPath("rules[0].path").value("/api/**"))
+                .andExpect(jsonPath("rules[0].key").value("IP"))
+                .andExpect(jsonPath("rules[0].allowed").isNumber())
+                .andExpect(jsonPath("rules[0].rejected").isNumber())
+        ;
+    }
+
+    @Test
+    @TestDescription("최근에 실행된 SQL 을 조회하기")
+    public void sql() throws Exception {
+
+        performAsync(get("/api/events"));
+
+        this.mockMvc.perform(get("/admin/sql")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken("admin-test@email.com", Set.of(AccountRole.ADMIN)))
+                .param("limit", "5"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("sampleRate").value(1.0))
+                .andExpect(jsonPath("statementCount").isNumber())
+                .andExpect(jsonPath("slowThresholdMillis").value(appProperties.getSqlTraceSlowThresholdMillis()))
+                .andExpect(jsonPath("sampled.length()").value(5))
+                .andExpect(jsonPath("sampled[0].queries[0]").isString())
+                .andExpect(jsonPath("sampled[0].elapsedMillis").isNumber())
+                .andExpect(jsonPath("slow").isArray())
+        ;
+    }
+
+    @Test
+    @TestDescription("JFR 기록을 시작하고 멈춰서 .jfr 파일로 받기")
+    public void recording() throws Exception {
+
+        // Given
+        String adminToken = getBearerToken("admin-test@email.com", Set.of(AccountRole.ADMIN));
+        Event event = this.eventRepository.save(Event.builder()
+                .name("recorded event")
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .build());
+
+        this.mockMvc.perform(post("/admin/recording")
+                .header(HttpHeaders.AUTHORIZATION, adminToken)
+                .param("durationSeconds", "60"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("state").value("RUNNING"))
+                .andExpect(jsonPath("durationSeconds").value(60))
+        ;
+
+        this.mockMvc.perform(post("/admin/recording")
+                .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isConflict())
+        ;
+
+        performAsync(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+
+        // When
+        byte[] recording = performAsync(delete("/admin/recording")
+                .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        Path file = Files.createTempFile("recording-test-", ".jfr");
+        try {
+            Files.write(file, recording);
+            Set<String> eventNames = RecordingFile.readAllEvents(file).stream()
+                    .map(recorded -> recorded.getEventType().getName())
+                    .collect(Collectors.toSet());
+            assertThat(eventNames).contains("com.patrick.EventApiPhase", "com.patrick.RepositoryCall", "com.patrick.RequestDispatch");
+
+            RecordedEvent phase = RecordingFile.readAllEvents(file).stream()
+                    .filter(recorded -> recorded.getEventType().getName().equals("com.patrick.EventApiPhase"))
+                    .filter(recorded -> recorded.getString("endpoint").equals("getEvent"))
+                    .findFirst().orElseThrow();
+            assertThat(phase.getInt("eventId")).isEqualTo(event.getId());
+
+            // 같은 요청에서 실행된 저장소 호출도 eventId 로 골라낼 수 있다.
+            assertThat(RecordingFile.readAllEvents(file).stream()
+                    .filter(recorded -> recorded.getEventType().getName().equals("com.patrick.RepositoryCall"))
+                    .filter(recorded -> recorded.getInt("eventId") == event.getId()))
+                    .extracting(recorded -> recorded.getString("method"))
+                    .contains("findById");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        this.mockMvc.perform(get("/admin/recording")
+                .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isNotFound())
+        ;
+    }
+
+    @Test
+    @TestDescription("ADMIN 권한이 없으면 운영용 엔드포인트에 접근할 수 없다")
+    public void caches_Forbidden() throws Exception {
+
+        this.mockMvc.perform(get("/admin/caches")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken("user-test@email.com", Set.of(AccountRole.USER))))
+                .andExpect(status().isForbidden())
+        ;
+    }
+}
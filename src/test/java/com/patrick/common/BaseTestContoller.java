@@ -3,6 +3,7 @@ package com.patrick.common;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.patrick.events.EventRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.runner.RunWith;
 import org.modelmapper.ModelMapper;
@@ -14,6 +15,13 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 
 
 @RunWith(SpringRunner.class)
@@ -49,4 +57,27 @@ public class BaseTestContoller {
 
     @Autowired
     protected ModelMapper modelMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    protected StatementCounter statementCounter;
+
+    @Before
+    public void setUpStatementCounter(){
+        this.statementCounter = new StatementCounter(entityManagerFactory);
+    }
+
+    /*
+        CompletableFuture 를 반환하는 핸들러는 비동기로 처리되므로 결과가 나올 때까지 기다렸다가 다시 디스패치한다.
+        핸들러에 들어가기 전에 끝난 요청(인증 실패, 본문 파싱 실패 등)은 그대로 돌려준다.
+    */
+    protected ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        ResultActions resultActions = this.mockMvc.perform(requestBuilder);
+        MvcResult mvcResult = resultActions.andReturn();
+        if (!mvcResult.getRequest().isAsyncStarted()) {
+            return resultActions;
+        }
+        return this.mockMvc.perform(asyncDispatch(mvcResult));
+    }
 }
@@ -0,0 +1,59 @@
+package com.patrick.common;
+
+import com.patrick.config.SqlTrace;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    action 이 현재 스레드에서 실행한 SELECT 문을 SqlTrace 에서 꺼내서 H2 실행 계획(EXPLAIN)을 돌려준다.
+    손으로 옮겨 쓴 SQL 이 아니라 Hibernate 가 실제로 만든 문장과 바인드 값으로 계획을 본다.
+
+    바인드 값은 slow 버퍼에만 남으므로 my-app.sql-trace-slow-threshold-millis=0 으로 띄운 컨텍스트에서 써야 한다.
+
+    ex) List<String> plans = queryPlans.explain(() -> eventRepository.findAll(specification));
+*/
+public class QueryPlans {
+
+    private final SqlTrace sqlTrace;
+    private final JdbcTemplate jdbcTemplate;
+
+    public QueryPlans(SqlTrace sqlTrace, JdbcTemplate jdbcTemplate) {
+        assertThat(sqlTrace.getSlowThresholdMillis())
+                .as("my-app.sql-trace-slow-threshold-millis must be 0 to capture bind parameters")
+                .isZero();
+        this.sqlTrace = sqlTrace;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /*
+        실행한 순서대로 SELECT 문 하나에 계획 하나.
+    */
+    public List<String> explain(Runnable action) {
+        String thread = Thread.currentThread().getName();
+        Instant start = Instant.now();
+        action.run();
+
+        List<SqlTrace.Entry> entries = new ArrayList<>(sqlTrace.slow(Integer.MAX_VALUE));
+        Collections.reverse(entries);
+
+        List<String> plans = new ArrayList<>();
+        for (SqlTrace.Entry entry : entries) {
+            if (!entry.getThread().equals(thread) || entry.getFinishedAt().isBefore(start)) {
+                continue;
+            }
+            String query = entry.getQueries().get(0);
+            if (!query.trim().toLowerCase().startsWith("select")) {
+                continue;
+            }
+            Object[] parameters = entry.getParameters().isEmpty() ? new Object[0] : entry.getParameters().get(0).toArray();
+            plans.add(jdbcTemplate.queryForObject("EXPLAIN " + query, String.class, parameters));
+        }
+        return plans;
+    }
+}
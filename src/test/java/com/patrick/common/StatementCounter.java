@@ -0,0 +1,44 @@
+package com.patrick.common;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    요청 하나에 실행되는 SQL 문 개수를 센다. (Hibernate Statistics 의 prepared statement 수)
+    application-test.properties 에서 hibernate.generate_statistics 를 켜둬야 한다.
+
+    ex) statementCounter.assertAtMost(2, () -> mockMvc.perform(get("/api/events")));
+*/
+public class StatementCounter {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(this.statistics.isStatisticsEnabled())
+                .as("hibernate.generate_statistics must be enabled to count statements")
+                .isTrue();
+    }
+
+    public long count(Action action) throws Exception {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    public void assertAtMost(long budget, Action action) throws Exception {
+        long count = count(action);
+        assertThat(count)
+                .as("SQL statement count (budget %d)", budget)
+                .isLessThanOrEqualTo(budget);
+    }
+}
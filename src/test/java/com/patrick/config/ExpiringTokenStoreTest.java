@@ -0,0 +1,145 @@
+package com.patrick.config;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.common.DefaultExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpiringTokenStoreTest {
+
+    private static final Instant NOW = Instant.parse("2019-07-11T04:30:00Z");
+
+    private ExpiringTokenStore tokenStore = newTokenStore(100);
+
+    private ExpiringTokenStore newTokenStore(int capacity) {
+        return new ExpiringTokenStore(capacity,
+                Duration.ofMinutes(10), Duration.ofMinutes(60), Duration.ofHours(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @After
+    public void tearDown() {
+        tokenStore.close();
+    }
+
+    private OAuth2Authentication authentication(String username) {
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", AuthorityUtils.NO_AUTHORITIES,
+                true, Set.of("read"), Set.of(), null, Set.of(), Map.of());
+        return new OAuth2Authentication(request,
+                new UsernamePasswordAuthenticationToken(username, "", AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private DefaultOAuth2AccessToken accessToken(String value, Duration expiresIn) {
+        DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(value);
+        token.setExpiration(Date.from(NOW.plus(expiresIn)));
+        return token;
+    }
+
+    @Test
+    public void storeAndRead() {
+
+        //Given
+        OAuth2Authentication authentication = authentication("user@email.com");
+        DefaultOAuth2AccessToken token = accessToken("access", Duration.ofMinutes(10));
+        OAuth2RefreshToken refreshToken = new DefaultExpiringOAuth2RefreshToken("refresh", Date.from(NOW.plus(Duration.ofMinutes(60))));
+        token.setRefreshToken(refreshToken);
+
+        //When
+        tokenStore.storeAccessToken(token, authentication);
+        tokenStore.storeRefreshToken(refreshToken, authentication);
+
+        //Then
+        assertThat(tokenStore.readAccessToken("access")).isEqualTo(token);
+        assertThat(tokenStore.readAuthentication("access")).isEqualTo(authentication);
+        assertThat(tokenStore.getAccessToken(authentication)).isEqualTo(token);
+        assertThat(tokenStore.readRefreshToken("refresh")).isEqualTo(refreshToken);
+        assertThat(tokenStore.findTokensByClientId("myApp")).containsExactly(token);
+        assertThat(tokenStore.findTokensByClientIdAndUserName("myApp", "user@email.com")).containsExactly(token);
+
+        tokenStore.removeAccessTokenUsingRefreshToken(refreshToken);
+
+        assertThat(tokenStore.readAccessToken("access")).isNull();
+        assertThat(tokenStore.getAccessToken(authentication)).isNull();
+        assertThat(tokenStore.findTokensByClientId("myApp")).isEmpty();
+        assertThat(tokenStore.readRefreshToken("refresh")).isEqualTo(refreshToken);
+        assertThat(tokenStore.getLookupMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void sweepRemovesExpiredTokens() {
+
+        //Given
+        tokenStore.storeAccessToken(accessToken("expired", Duration.ofSeconds(-1)), authentication("a@email.com"));
+        tokenStore.storeAccessToken(accessToken("valid", Duration.ofMinutes(10)), authentication("b@email.com"));
+        tokenStore.storeRefreshToken(new DefaultExpiringOAuth2RefreshToken("expired-refresh", Date.from(NOW.minusSeconds(1))),
+                authentication("a@email.com"));
+
+        //When
+        int removed = tokenStore.sweep();
+
+        //Then
+        assertThat(removed).isEqualTo(2);
+        assertThat(tokenStore.readAccessToken("expired")).isNull();
+        assertThat(tokenStore.readAccessToken("valid")).isNotNull();
+        assertThat(tokenStore.readRefreshToken("expired-refresh")).isNull();
+        assertThat(tokenStore.getExpiredEvictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void evictSoonestExpiringTokenWhenFull() {
+
+        //Given
+        tokenStore.close();
+        tokenStore = newTokenStore(2);
+        tokenStore.storeAccessToken(accessToken("later", Duration.ofMinutes(10)), authentication("a@email.com"));
+        tokenStore.storeAccessToken(accessToken("sooner", Duration.ofMinutes(5)), authentication("b@email.com"));
+
+        //When
+        tokenStore.storeAccessToken(accessToken("new", Duration.ofMinutes(10)), authentication("c@email.com"));
+
+        //Then
+        assertThat(tokenStore.getAccessTokenCount()).isEqualTo(2);
+        assertThat(tokenStore.readAccessToken("sooner")).isNull();
+        assertThat(tokenStore.readAccessToken("later")).isNotNull();
+        assertThat(tokenStore.readAccessToken("new")).isNotNull();
+        assertThat(tokenStore.getCapacityEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void concurrentStoreStaysBounded() throws Exception {
+
+        //Given
+        tokenStore.close();
+        tokenStore = newTokenStore(1_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //When
+        IntStream.range(0, 10_000).forEach(i -> executor.execute(() ->
+                tokenStore.storeAccessToken(accessToken("token-" + i, Duration.ofMinutes(10)), authentication("user" + i))));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        //Then
+        assertThat(tokenStore.getAccessTokenCount()).isLessThanOrEqualTo(1_000 + 8);
+        assertThat(tokenStore.findTokensByClientId("myApp")).hasSize(tokenStore.getAccessTokenCount());
+    }
+}
@@ -0,0 +1,143 @@
+package com.patrick.config;
+
+import com.jayway.jsonpath.JsonPath;
+import com.patrick.accounts.Account;
+import com.patrick.accounts.AccountRepository;
+import com.patrick.accounts.AccountRole;
+import com.patrick.accounts.AccountService;
+import com.patrick.accounts.AccountUserAuthenticationConverter;
+import com.patrick.common.BaseTestContoller;
+import com.patrick.common.TestDescription;
+import com.patrick.events.EventDto;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "my-app.token-mode=jwt",
+        "my-app.jwt-signing-key=test-signing-key-0123456789abcdef"
+})
+public class JwtTokenModeTest extends BaseTestContoller {
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AppProperties appProperties;
+
+    private Account account;
+
+    private String getAccessToken() throws Exception {
+        String email = "jwt-test@email.com";
+
+        this.account = this.accountRepository.findByEmail(email)
+                .orElseGet(() -> this.accountService.saveAccount(Account.builder()
+                        .email(email)
+                        .password("pass")
+                        .roles(Set.of(AccountRole.USER))
+                        .build()));
+
+        String responseBody = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                .param("username", email)
+                .param("password", "pass")
+                .param("grant_type", "password"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        return new Jackson2JsonParser().parseMap(responseBody).get("access_token").toString();
+    }
+
+    @Test
+    @TestDescription("JWT 토큰 안에 계정 id 와 권한이 들어있다")
+    public void issueJwt() throws Exception {
+
+        String accessToken = getAccessToken();
+
+        Map<String, Object> claims = new Jackson2JsonParser().parseMap(JwtHelper.decode(accessToken).getClaims());
+        assertThat(((Number) claims.get(AccountUserAuthenticationConverter.ACCOUNT_ID)).intValue())
+                .isEqualTo(this.account.getId());
+        assertThat(claims.get("user_name")).isEqualTo("jwt-test@email.com");
+        assertThat(claims.get("authorities").toString()).contains("ROLE_USER");
+    }
+
+    @Test
+    @TestDescription("JWT 토큰만으로 @CurrentUser 를 받아서 이벤트를 만들고 수정 링크를 받기")
+    public void createEventWithJwt() throws Exception {
+
+        String bearer = "Bearer " + getAccessToken();
+
+        EventDto eventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2019, 7, 11, 4, 30))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019, 7, 12, 4, 30))
+                .beginEventDateTime(LocalDateTime.of(2019, 7, 13, 4, 30))
+                .endEventDateTime(LocalDateTime.of(2019, 7, 14, 4, 30))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타트업 팩토리")
+                .build();
+
+        String response = performAsync(post("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, bearer)
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("manager.id").value(this.account.getId()))
+                .andReturn().getResponse().getContentAsString();
+
+        Integer id = JsonPath.read(response, "id");
+
+        performAsync(get("/api/events/{id}", id)
+                    .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_links.update-event").exists());
+    }
+
+    @Test
+    @TestDescription("JWT 모드에서는 토큰 저장소 상태 엔드포인트가 없다")
+    public void tokens404() throws Exception {
+
+        Account admin = this.accountRepository.findByEmail("jwt-admin@email.com")
+                .orElseGet(() -> this.accountService.saveAccount(Account.builder()
+                        .email("jwt-admin@email.com")
+                        .password("pass")
+                        .roles(Set.of(AccountRole.ADMIN))
+                        .build()));
+
+        String responseBody = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                .param("username", admin.getEmail())
+                .param("password", "pass")
+                .param("grant_type", "password"))
+                .andReturn().getResponse().getContentAsString();
+
+        this.mockMvc.perform(get("/admin/tokens")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + new Jackson2JsonParser().parseMap(responseBody).get("access_token")))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,94 @@
+package com.patrick.config;
+
+import com.patrick.common.BaseTestContoller;
+import com.patrick.common.TestDescription;
+import com.patrick.events.Event;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MetricsTest extends BaseTestContoller {
+
+    @Autowired
+    AppProperties appProperties;
+
+    private String getBearerToken() throws Exception {
+        String responseBody = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                .param("username", appProperties.getAdminUsername())
+                .param("password", appProperties.getAdminPassword())
+                .param("grant_type", "password"))
+                .andReturn().getResponse().getContentAsString();
+
+        return "Bearer " + new Jackson2JsonParser().parseMap(responseBody).get("access_token");
+    }
+
+    @Test
+    @TestDescription("수집기 주소에서 Prometheus 형식의 지표를 조회하기")
+    public void prometheus() throws Exception {
+
+        // Given
+        Event event = this.eventRepository.save(Event.builder()
+                .name("metrics event")
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .build());
+
+        getBearerToken();
+        performAsync(get("/api/events/{id}", event.getId()));
+
+        // When & Then (MockMvc 요청의 주소는 127.0.0.1)
+        this.mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(not(containsString("quantile="))))
+                .andExpect(content().string(containsString("uri=\"/api/events/{id}\"")))
+                .andExpect(content().string(containsString("repository=\"EventRepository\"")))
+                .andExpect(content().string(containsString("repository=\"AccountRepository\"")))
+                .andExpect(content().string(containsString("oauth_token_grant_seconds_count{")))
+                .andExpect(content().string(containsString("grant_type=\"password\"")))
+                .andExpect(content().string(containsString("grant_type=\"refresh_token\",outcome=\"success\"")))
+                .andExpect(content().string(containsString("password_encoder_seconds_count{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active{")))
+                .andExpect(content().string(containsString("request_executor_completed_total{")))
+                .andExpect(content().string(containsString("cache=\"events\"")))
+                .andExpect(content().string(containsString("rate_limit_requests_total{")))
+        ;
+    }
+
+    @Test
+    @TestDescription("수집기 주소가 아니면 ADMIN 토큰이 있어야 지표를 조회할 수 있다")
+    public void prometheus_OtherAddress() throws Exception {
+
+        this.mockMvc.perform(get("/actuator/prometheus")
+                .with(request -> {
+                    request.setRemoteAddr("10.0.0.1");
+                    return request;
+                }))
+                .andExpect(status().isUnauthorized())
+        ;
+
+        this.mockMvc.perform(get("/actuator/prometheus")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .with(request -> {
+                    request.setRemoteAddr("10.0.0.1");
+                    return request;
+                }))
+                .andExpect(status().isOk())
+        ;
+    }
+}
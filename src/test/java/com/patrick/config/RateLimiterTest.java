@@ -0,0 +1,151 @@
+package com.patrick.config;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private AppProperties.RateLimit rule(String method, String path, AppProperties.RateLimit.Key key, int capacity, double refillPerSecond) {
+        AppProperties.RateLimit rateLimit = new AppProperties.RateLimit();
+        rateLimit.setMethod(method);
+        rateLimit.setPath(path);
+        rateLimit.setKey(key);
+        rateLimit.setCapacity(capacity);
+        rateLimit.setRefillPerSecond(refillPerSecond);
+        return rateLimit;
+    }
+
+    private RateLimiter rateLimiter(AppProperties.RateLimit... rules) {
+        return new RateLimiter(List.of(rules), 1_000, Duration.ofMinutes(10), now::get);
+    }
+
+    private MockHttpServletRequest request(String method, String path, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private OAuth2Authentication authentication(String clientId, String username) {
+        OAuth2Request request = new OAuth2Request(Map.of(), clientId, AuthorityUtils.NO_AUTHORITIES,
+                true, Set.of("read"), Set.of(), null, Set.of(), Map.of());
+        return new OAuth2Authentication(request,
+                new UsernamePasswordAuthenticationToken(username, "", AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    @Test
+    public void allowBurstThenRefill() {
+
+        //Given
+        RateLimiter rateLimiter = rateLimiter(rule(null, "/api/**", AppProperties.RateLimit.Key.IP, 3, 1));
+
+        //When & Then
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(request("GET", "/api/events", "10.0.0.1"), null)).isZero();
+        }
+        long wait = rateLimiter.tryAcquire(request("GET", "/api/events", "10.0.0.1"), null);
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+        // 다른 IP 는 자기 버킷을 쓴다.
+        assertThat(rateLimiter.tryAcquire(request("GET", "/api/events", "10.0.0.2"), null)).isZero();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire(request("GET", "/api/events", "10.0.0.1"), null)).isZero();
+        assertThat(rateLimiter.tryAcquire(request("GET", "/api/events", "10.0.0.1"), null)).isPositive();
+    }
+
+    @Test
+    public void matchMethodAndPath() {
+
+        //Given
+        RateLimiter rateLimiter = rateLimiter(rule("POST", "/api/events", AppProperties.RateLimit.Key.IP, 1, 1));
+
+        //When & Then
+        assertThat(rateLimiter.tryAcquire(request("POST", "/api/events", "10.0.0.1"), null)).isZero();
+        assertThat(rateLimiter.tryAcquire(request("POST", "/api/events", "10.0.0.1"), null)).isPositive();
+        assertThat(rateLimiter.tryAcquire(request("GET", "/api/events", "10.0.0.1"), null)).isZero();
+        assertThat(rateLimiter.tryAcquire(request("POST", "/api/events/batch", "10.0.0.1"), null)).isZero();
+    }
+
+    @Test
+    public void keyByClientAndAccount() {
+
+        //Given
+        RateLimiter rateLimiter = rateLimiter(
+                rule("POST", "/api/**", AppProperties.RateLimit.Key.CLIENT, 2, 1),
+                rule("POST", "/api/**", AppProperties.RateLimit.Key.ACCOUNT, 1, 1));
+
+        //When & Then
+        assertThat(rateLimiter.tryAcquire(request("POST", "/api/events", "10.0.0.1"), authentication("partner", "a@email.com"))).isZero();
+        // 같은 계정은 두 번째부터 막힌다.
+        assertThat(rateLimiter.tryAcquire(request("POST", "/api/events", "10.0.0.2"), authentication("partner", "a@email.com"))).isPositive();
+        // 같은 클라이언트의 다른 계정은 클라이언트 버킷이 남아있는 동안만 허용된다.
+        assertThat(rateLimiter.tryAcquire(request("POST", "/api/events", "10.0.0.3"), authentication("partner", "b@email.com"))).isPositive();
+        assertThat(rateLimiter.tryAcquire(request("POST", "/api/events", "10.0.0.3"), authentication("other", "c@email.com"))).isZero();
+        // 익명 요청에는 클라이언트/계정 규칙이 적용되지 않는다.
+        assertThat(rateLimiter.tryAcquire(request("POST", "/api/events", "10.0.0.3"), null)).isZero();
+
+        assertThat(rateLimiter.getRuleStats().get(1).get("rejected")).isEqualTo(1L);
+    }
+
+    @Test
+    public void respondTooManyRequestsWithRetryAfter() throws Exception {
+
+        //Given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter(rule(null, "/api/**", AppProperties.RateLimit.Key.IP, 1, 0.5)));
+        filter.doFilter(request("GET", "/api/events", "10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        //When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/api/events", "10.0.0.1"), response, chain);
+
+        //Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    public void concurrentAcquireNeverExceedsCapacity() throws Exception {
+
+        //Given
+        RateLimiter rateLimiter = rateLimiter(rule(null, "/api/**", AppProperties.RateLimit.Key.IP, 100, 1));
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        AtomicInteger allowed = new AtomicInteger();
+
+        //When
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> {
+                if (rateLimiter.tryAcquire(request("GET", "/api/events", "10.0.0.1"), null) == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        //Then
+        assertThat(allowed.get()).isEqualTo(100);
+    }
+}
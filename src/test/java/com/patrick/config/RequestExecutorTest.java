@@ -0,0 +1,131 @@
+package com.patrick.config;
+
+import com.patrick.common.RequestUris;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RequestExecutorTest {
+
+    private RequestExecutor executor = new RequestExecutor("test", 1, 1, Duration.ofSeconds(5));
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.close();
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private String block() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    @Test
+    public void rejectWhenQueueIsFull() throws Exception {
+
+        //Given
+        CompletableFuture<String> running = executor.supply(this::block);
+        CompletableFuture<String> queued = executor.supply(this::block);
+
+        //When
+        Throwable thrown = catchThrowable(() -> executor.supply(this::block));
+
+        //Then
+        assertThat(thrown).isInstanceOf(TaskRejectedException.class);
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+    }
+
+    @Test
+    public void timeoutWhenTaskIsSlow() {
+
+        //Given
+        executor.close();
+        executor = new RequestExecutor("test", 1, 1, Duration.ofMillis(50));
+
+        //When
+        Throwable thrown = catchThrowable(() -> executor.supply(this::block).get(5, TimeUnit.SECONDS));
+
+        //Then
+        assertThat(thrown).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(executor.getTimeoutCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void skipQueuedTaskAfterTimeout() throws Exception {
+
+        //Given
+        executor.close();
+        executor = new RequestExecutor("test", 1, 2, Duration.ofMillis(50));
+        executor.supply(this::block);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        //When
+        Throwable thrown = catchThrowable(() -> executor.supply(() -> ran.getAndSet(true)).get(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        //Then
+        assertThat(thrown).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(executor.supply(() -> "next").get(5, TimeUnit.SECONDS)).isEqualTo("next");
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    public void propagateSecurityContextAndRequestUris() throws Exception {
+
+        //Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken("user@email.com", "");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setQueryString("page=1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        //When
+        String result = executor.supply(() -> SecurityContextHolder.getContext().getAuthentication().getName()
+                + " " + RequestUris.current().getBaseUri()
+                + " " + RequestUris.current().getRequestUri()
+                + " " + (RequestContextHolder.getRequestAttributes() == null ? "no-request" : "request"))
+                .get(5, TimeUnit.SECONDS);
+
+        //Then
+        // 서블릿 요청은 작업 스레드로 넘기지 않고 요청 스레드에서 계산한 주소만 넘긴다.
+        assertThat(result).isEqualTo("user@email.com http://localhost http://localhost/api/events?page=1 no-request");
+
+        // 작업이 끝나면 작업 스레드의 컨텍스트는 비운다.
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        String after = executor.supply(() -> SecurityContextHolder.getContext().getAuthentication() == null
+                && RequestUris.capture() == null ? "cleared" : "leaked")
+                .get(5, TimeUnit.SECONDS);
+        assertThat(after).isEqualTo("cleared");
+    }
+}
@@ -0,0 +1,40 @@
+package com.patrick.config;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SecurityConfigTest {
+
+    private SecurityConfig securityConfig(String jwtSigningKey) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setTokenMode("jwt");
+        appProperties.setJwtSigningKey(jwtSigningKey);
+
+        SecurityConfig securityConfig = new SecurityConfig();
+        securityConfig.appProperties = appProperties;
+        return securityConfig;
+    }
+
+    @Test
+    public void rejectMissingJwtSigningKey() {
+        assertThatThrownBy(() -> securityConfig(null).accessTokenConverter())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("my-app.jwt-signing-key");
+    }
+
+    @Test
+    public void rejectShortJwtSigningKey() {
+        assertThatThrownBy(() -> securityConfig("change-this-key").accessTokenConverter())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("my-app.jwt-signing-key");
+    }
+
+    @Test
+    public void acceptLongJwtSigningKey() {
+        String key = "k".repeat(SecurityConfig.MIN_JWT_SIGNING_KEY_LENGTH);
+
+        assertThat(securityConfig(key).accessTokenConverter().getKey()).containsValue(key);
+    }
+}
@@ -0,0 +1,83 @@
+package com.patrick.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlTraceTest {
+
+    private JdbcTemplate jdbcTemplate(SqlTrace sqlTrace) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqltrace;DB_CLOSE_DELAY=-1");
+        DataSource dataSource = ProxyDataSourceBuilder.create(h2).listener(sqlTrace).build();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS trace_item (id INT PRIMARY KEY, name VARCHAR(50))");
+        jdbcTemplate.execute("DELETE FROM trace_item");
+        return jdbcTemplate;
+    }
+
+    @Test
+    public void sampleStatementsWithoutParameters() {
+
+        //Given
+        SqlTrace sqlTrace = new SqlTrace(1, Long.MAX_VALUE, 100, 100);
+        JdbcTemplate jdbcTemplate = jdbcTemplate(sqlTrace);
+
+        //When
+        jdbcTemplate.update("INSERT INTO trace_item (id, name) VALUES (?, ?)", 1, "first");
+
+        //Then
+        SqlTrace.Entry latest = sqlTrace.sampled(1).get(0);
+        assertThat(latest.getQueries()).containsExactly("INSERT INTO trace_item (id, name) VALUES (?, ?)");
+        assertThat(latest.isSuccess()).isTrue();
+        assertThat(latest.getParameters()).isNull();
+        assertThat(sqlTrace.getSlowCount()).isZero();
+        assertThat(sqlTrace.getStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void alwaysKeepSlowStatementsWithParameters() {
+
+        //Given
+        SqlTrace sqlTrace = new SqlTrace(0, 0, 100, 100);
+        JdbcTemplate jdbcTemplate = jdbcTemplate(sqlTrace);
+
+        //When
+        jdbcTemplate.batchUpdate("INSERT INTO trace_item (id, name) VALUES (?, ?)",
+                List.of(new Object[]{1, "first"}, new Object[]{2, null}));
+
+        //Then
+        SqlTrace.Entry latest = sqlTrace.slow(1).get(0);
+        assertThat(latest.getBatchSize()).isEqualTo(2);
+        assertThat(latest.getParameters()).containsExactly(List.of("1", "first"), Arrays.asList("2", null));
+        assertThat(sqlTrace.getSampledCount()).isZero();
+    }
+
+    @Test
+    public void keepOnlyLatestEntries() {
+
+        //Given
+        SqlTrace sqlTrace = new SqlTrace(1, Long.MAX_VALUE, 3, 3);
+        JdbcTemplate jdbcTemplate = jdbcTemplate(sqlTrace);
+
+        //When
+        for (int i = 0; i < 10; i++) {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trace_item WHERE id > " + i, Integer.class);
+        }
+
+        //Then
+        List<SqlTrace.Entry> entries = sqlTrace.sampled(10);
+        assertThat(entries).hasSize(3);
+        assertThat(entries.get(0).getQueries().get(0)).endsWith("id > 9");
+        assertThat(entries.get(2).getQueries().get(0)).endsWith("id > 7");
+        assertThat(sqlTrace.getSampledCount()).isEqualTo(12);
+    }
+}
@@ -0,0 +1,49 @@
+package com.patrick.config;
+
+import com.patrick.common.BaseTestContoller;
+import com.patrick.common.TestDescription;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    미리 압축해둔 정적 파일(.gz)은 요청마다 압축하지 않고 그대로 내려준다. (spring.resources.chain.compressed)
+    API 응답 압축은 톰캣 커넥터(server.compression)가 하므로 MockMvc 로는 확인하지 않는다.
+*/
+public class StaticResourceCompressionTest extends BaseTestContoller {
+
+    @Test
+    @TestDescription("gzip 을 받을 수 있으면 미리 압축된 파일을 내려주기")
+    public void servePrecompressedResource() throws Exception {
+
+        byte[] body = this.mockMvc.perform(get("/css/compression-test.css")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String css = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(css).startsWith(".event-0 {");
+    }
+
+    @Test
+    @TestDescription("gzip 을 받을 수 없으면 원본 파일을 내려주기")
+    public void serveOriginalResource() throws Exception {
+
+        String css = this.mockMvc.perform(get("/css/compression-test.css"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(css).startsWith(".event-0 {");
+    }
+}
@@ -0,0 +1,60 @@
+package com.patrick.config;
+
+import com.patrick.common.BaseTestContoller;
+import com.patrick.common.TestDescription;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.forwardedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    src/test/resources/static 의 index.html 과 static/js/app.0123abcd.js 를 빌드된 Vue 앱 대신 쓴다.
+*/
+public class WebConfigTest extends BaseTestContoller {
+
+    @Test
+    @TestDescription("해시가 붙은 번들 파일은 1년 immutable 로 캐시하기")
+    public void hashedAssetIsImmutable() throws Exception {
+
+        this.mockMvc.perform(get("/static/js/app.0123abcd.js"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+        ;
+
+        this.mockMvc.perform(get("/static/js/app.0123abcd.js")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+        ;
+    }
+
+    @Test
+    @TestDescription("index.html 은 매번 다시 확인하고 바뀌지 않았으면 304 로 응답하기")
+    public void indexIsRevalidated() throws Exception {
+
+        String lastModified = this.mockMvc.perform(get("/index.html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        this.mockMvc.perform(get("/index.html")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified())
+        ;
+    }
+
+    @Test
+    @TestDescription("인증 없이 / 로 들어오면 index.html 을 보여주기")
+    public void welcomePage() throws Exception {
+
+        this.mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(forwardedUrl("index.html"))
+        ;
+    }
+}
@@ -0,0 +1,181 @@
+package com.patrick.enrollments;
+
+import com.patrick.accounts.Account;
+import com.patrick.accounts.AccountRepository;
+import com.patrick.accounts.AccountRole;
+import com.patrick.accounts.AccountService;
+import com.patrick.common.BaseTestContoller;
+import com.patrick.common.TestDescription;
+import com.patrick.config.AppProperties;
+import com.patrick.events.Event;
+import com.patrick.events.EventStatus;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class EnrollmentControllerTest extends BaseTestContoller {
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @After
+    public void tearDown(){
+        this.enrollmentRepository.deleteAll();
+    }
+
+    private String getBearerToken(String email) throws Exception {
+
+        if (this.accountRepository.findByEmail(email).isEmpty()) {
+            this.accountService.saveAccount(Account.builder()
+                    .email(email)
+                    .password("pass")
+                    .roles(Set.of(AccountRole.USER))
+                    .build());
+        }
+
+        String responseBody = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                .param("username", email)
+                .param("password", "pass")
+                .param("grant_type", "password"))
+                .andReturn().getResponse().getContentAsString();
+
+        return "Bearer " + new Jackson2JsonParser().parseMap(responseBody).get("access_token");
+    }
+
+    private Event saveEvent(EventStatus status, int limitOfEnrollment){
+        return this.eventRepository.save(Event.builder()
+                .name("enrollment event")
+                .description("test event")
+                .eventStatus(status)
+                .beginEnrollmentDateTime(LocalDateTime.now().minusDays(1))
+                .closeEnrollmentDateTime(LocalDateTime.now().plusDays(1))
+                .beginEventDateTime(LocalDateTime.now().plusDays(2))
+                .endEventDateTime(LocalDateTime.now().plusDays(3))
+                .limitOfEnrollment(limitOfEnrollment)
+                .build());
+    }
+
+    @Test
+    @TestDescription("정원이 남아있는 이벤트에 참가 신청하기")
+    public void enroll() throws Exception {
+
+        Event event = saveEvent(EventStatus.BEGAN_ENROLLMEND, 10);
+
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken("enroll-a@email.com"))
+                    .accept(MediaTypes.HAL_JSON))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("status").value(EnrollmentStatus.ENROLLED.name()))
+                .andExpect(jsonPath("account.id").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.event").exists())
+                .andDo(document("create-enrollment",
+                        links(
+                                linkWithRel("self").description("link to the current user's enrollment"),
+                                linkWithRel("event").description("link to the event"),
+                                linkWithRel("profile").description("link to profile")
+                        )
+                ))
+        ;
+    }
+
+    @Test
+    @TestDescription("정원이 찼으면 대기자로 신청되고, 확정된 신청을 취소하면 대기자가 자리를 넘겨받는다")
+    public void enroll_Waiting_And_Promoted() throws Exception {
+
+        Event event = saveEvent(EventStatus.BEGAN_ENROLLMEND, 1);
+        String first = getBearerToken("enroll-a@email.com");
+        String second = getBearerToken("enroll-b@email.com");
+
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, first))
+                .andExpect(jsonPath("status").value(EnrollmentStatus.ENROLLED.name()));
+
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, second))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("status").value(EnrollmentStatus.WAITING.name()));
+
+        this.mockMvc.perform(delete("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, first))
+                .andExpect(status().isNoContent());
+
+        this.mockMvc.perform(get("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("status").value(EnrollmentStatus.ENROLLED.name()));
+
+        this.mockMvc.perform(get("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, first))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @TestDescription("같은 이벤트에 두 번 신청하면 409")
+    public void enroll_Conflict() throws Exception {
+
+        Event event = saveEvent(EventStatus.BEGAN_ENROLLMEND, 10);
+        String bearer = getBearerToken("enroll-a@email.com");
+
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isCreated());
+
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @TestDescription("신청 기간이 아닌 이벤트에 신청하면 400")
+    public void enroll_Not_Open() throws Exception {
+
+        Event event = saveEvent(EventStatus.DRAFT, 10);
+
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken("enroll-a@email.com")))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("notOpen"));
+    }
+
+    @Test
+    @TestDescription("인증하지 않으면 참가 신청할 수 없다")
+    public void enroll_Unauthorized() throws Exception {
+
+        Event event = saveEvent(EventStatus.BEGAN_ENROLLMEND, 10);
+
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId()))
+                .andExpect(status().isUnauthorized());
+    }
+}
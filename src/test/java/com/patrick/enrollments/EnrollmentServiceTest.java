@@ -0,0 +1,160 @@
+package com.patrick.enrollments;
+
+import com.patrick.accounts.Account;
+import com.patrick.accounts.AccountRepository;
+import com.patrick.events.Event;
+import com.patrick.events.EventRepository;
+import com.patrick.events.EventStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EnrollmentServiceTest {
+
+    private static final int REQUESTS = 10_000;
+    private static final int LIMIT = 100;
+    private static final int THREADS = 64;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EnrollmentSeats enrollmentSeats;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private List<Account> accounts;
+
+    private final List<Event> events = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        deleteStressAccounts();
+        this.accounts = this.accountRepository.saveAll(IntStream.range(0, REQUESTS)
+                .mapToObj(i -> Account.builder().email("stress" + i + "@email.com").password("pass").build())
+                .collect(Collectors.toList()));
+    }
+
+    @After
+    public void tearDown() {
+        this.enrollmentRepository.deleteAllInBatch();
+        this.eventRepository.deleteAll(this.events);
+        deleteStressAccounts();
+    }
+
+    /*
+        deleteInBatch 는 계정 수만큼 "or id = ?" 를 이어 붙여서 10,000 개면 SQL 파서가 StackOverflowError 를 낸다.
+        이전 실행이 중간에 실패해서 남긴 계정도 같이 지운다.
+    */
+    private void deleteStressAccounts() {
+        this.jdbcTemplate.update("delete from account where email like 'stress%@email.com'");
+    }
+
+    private Event openEvent(int limit) {
+        Event event = this.eventRepository.save(Event.builder()
+                .name("popular event")
+                .description("stress test")
+                .eventStatus(EventStatus.BEGAN_ENROLLMEND)
+                .beginEnrollmentDateTime(LocalDateTime.now().minusDays(1))
+                .closeEnrollmentDateTime(LocalDateTime.now().plusDays(1))
+                .beginEventDateTime(LocalDateTime.now().plusDays(2))
+                .endEventDateTime(LocalDateTime.now().plusDays(3))
+                .limitOfEnrollment(limit)
+                .build());
+        this.events.add(event);
+        return event;
+    }
+
+    @Test
+    public void noOversellUnderContention() throws Exception {
+
+        //Given
+        Event event = openEvent(LIMIT);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //When
+        List<Future<Enrollment>> futures = new ArrayList<>();
+        for (Account account : this.accounts) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return this.enrollmentService.enroll(event, account);
+            }));
+        }
+        start.countDown();
+
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (Future<Enrollment> future : futures) {
+            enrollments.add(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        //Then
+        assertThat(enrollments.stream().filter(e -> e.getStatus() == EnrollmentStatus.ENROLLED)).hasSize(LIMIT);
+        assertThat(this.enrollmentRepository.countByEventIdAndStatus(event.getId(), EnrollmentStatus.ENROLLED)).isEqualTo(LIMIT);
+        assertThat(this.enrollmentRepository.countByEventIdAndStatus(event.getId(), EnrollmentStatus.WAITING)).isEqualTo(REQUESTS - LIMIT);
+        assertThat(this.enrollmentSeats.reserved(event.getId())).isEqualTo(LIMIT);
+    }
+
+    @Test
+    public void cancelPromotesWaitersInOrder() throws Exception {
+
+        //Given
+        Event event = openEvent(LIMIT);
+        for (Account account : this.accounts.subList(0, LIMIT + 50)) {
+            this.enrollmentService.enroll(event, account);
+        }
+        List<Account> firstWaiters = this.accounts.subList(LIMIT, LIMIT + 20);
+
+        //When
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> futures = this.accounts.subList(0, 20).stream()
+                .map(account -> executor.submit(() -> this.enrollmentService.cancel(event, account)))
+                .collect(Collectors.toList());
+        for (Future<Boolean> future : futures) {
+            assertThat(future.get(60, TimeUnit.SECONDS)).isTrue();
+        }
+        executor.shutdown();
+
+        //Then
+        assertThat(this.enrollmentRepository.countByEventIdAndStatus(event.getId(), EnrollmentStatus.ENROLLED)).isEqualTo(LIMIT);
+        assertThat(this.enrollmentRepository.countByEventIdAndStatus(event.getId(), EnrollmentStatus.WAITING)).isEqualTo(30);
+        for (Account waiter : firstWaiters) {
+            assertThat(this.enrollmentRepository.findByEventIdAndAccountId(event.getId(), waiter.getId()).orElseThrow().getStatus())
+                    .isEqualTo(EnrollmentStatus.ENROLLED);
+        }
+        assertThat(this.enrollmentSeats.reserved(event.getId())).isEqualTo(LIMIT);
+    }
+}
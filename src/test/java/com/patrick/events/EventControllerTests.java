@@ -7,6 +7,8 @@ import com.patrick.accounts.AccountService;
 import com.patrick.common.BaseTestContoller;
 import com.patrick.common.TestDescription;
 import com.patrick.config.AppProperties;
+import com.patrick.config.RequestExecutor;
+import com.jayway.jsonpath.JsonPath;
 import org.hamcrest.Matchers;
 import org.junit.Before;
 import org.junit.Test;
@@ -15,17 +17,27 @@ import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.payload.PayloadDocumentation.*;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -42,6 +54,12 @@ public class EventControllerTests extends BaseTestContoller {
     @Autowired
     AppProperties appProperties;
 
+    @Autowired
+    EventController eventController;
+
+    @Autowired
+    EventTextIndex eventTextIndex;
+
     @Before
     public void setUp(){
         this.eventRepository.deleteAll();
@@ -100,7 +118,7 @@ public class EventControllerTests extends BaseTestContoller {
         // eventRepository.save(event) 가 호출 되면 event를 리턴하라고 지정해줌.
         //Mockito.when(eventRepository.save(event)).thenReturn(event);
 
-        mockMvc.perform(post("/api/events/")
+        performAsync(post("/api/events/")
                         .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                         .contentType(MediaType.APPLICATION_JSON_UTF8)
                         .accept(MediaTypes.HAL_JSON)
@@ -177,6 +195,58 @@ public class EventControllerTests extends BaseTestContoller {
         ;
     }
 
+    @Test
+    @TestDescription("이벤트 여러개를 한 번에 생성하고 항목별 결과 받기")
+    public void createEvents() throws Exception{
+
+        EventDto valid = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2019,7,11,4,30))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019,7,12,4,30))
+                .beginEventDateTime(LocalDateTime.of(2019,7,13,4,30))
+                .endEventDateTime(LocalDateTime.of(2019,7,14,4,30))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타트업 팩토리")
+                .build();
+
+        EventDto wrongPrice = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2019,7,11,4,30))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019,7,12,4,30))
+                .beginEventDateTime(LocalDateTime.of(2019,7,13,4,30))
+                .endEventDateTime(LocalDateTime.of(2019,7,14,4,30))
+                .basePrice(10000)
+                .maxPrice(200)
+                .build();
+
+        EventDto empty = EventDto.builder().build();
+
+        mockMvc.perform(post("/api/events/batch")
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(this.objectMapper.writeValueAsString(List.of(valid, wrongPrice, empty, valid))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventBatchItemList.length()").value(4))
+                .andExpect(jsonPath("_embedded.eventBatchItemList[0].status").value("CREATED"))
+                .andExpect(jsonPath("_embedded.eventBatchItemList[0].id").exists())
+                .andExpect(jsonPath("_embedded.eventBatchItemList[1].status").value("INVALID"))
+                .andExpect(jsonPath("_embedded.eventBatchItemList[1].errors[0].code").exists())
+                .andExpect(jsonPath("_embedded.eventBatchItemList[2].status").value("INVALID"))
+                .andExpect(jsonPath("_embedded.eventBatchItemList[3].status").value("CREATED"))
+                .andExpect(jsonPath("_links.query-events").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("create-events-batch"))
+        ;
+
+        assertThat(this.eventRepository.count()).isEqualTo(2);
+    }
+
     @Test
     @TestDescription("입력 받을 수 없는 값을 사용한 경우에 에러가 발생하는 테스트")
     public void createEvent_Bad_Request() throws Exception{
@@ -201,7 +271,7 @@ public class EventControllerTests extends BaseTestContoller {
         // eventRepository.save(event) 가 호출 되면 event를 리턴하라고 지정해줌.
         //Mockito.when(eventRepository.save(event)).thenReturn(event);
 
-        mockMvc.perform(post("/api/events/")
+        performAsync(post("/api/events/")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
                 .accept(MediaTypes.HAL_JSON)
@@ -221,7 +291,7 @@ public class EventControllerTests extends BaseTestContoller {
 
         EventDto eventDto = EventDto.builder().build();
 
-        mockMvc.perform(post("/api/events")
+        performAsync(post("/api/events")
                         .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                         .contentType(MediaType.APPLICATION_JSON_UTF8)
                         .content(this.objectMapper.writeValueAsString(eventDto)))
@@ -248,7 +318,7 @@ public class EventControllerTests extends BaseTestContoller {
                 .location("강남역 D2 스타트업 팩토리")
                 .build();
 
-        mockMvc.perform(post("/api/events")
+        performAsync(post("/api/events")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
                 .content(this.objectMapper.writeValueAsString(eventDto)))
@@ -277,7 +347,7 @@ public class EventControllerTests extends BaseTestContoller {
         //Given
         IntStream.range(0,30).forEach(i-> this.generateEvent(i));
 
-        this.mockMvc.perform(get("/api/events")
+        performAsync(get("/api/events")
                     .param("page","1")
                     .param("size","10")
                     .param("sort","name,DESC")
@@ -286,6 +356,7 @@ public class EventControllerTests extends BaseTestContoller {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("page").exists())
                 .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self.href", Matchers.containsString("/api/events/")))
                 .andExpect(jsonPath("_links.self").exists())
                 .andExpect(jsonPath("_links.profile").exists())
                 .andDo(document("query-events"))
@@ -300,7 +371,7 @@ public class EventControllerTests extends BaseTestContoller {
         IntStream.range(0, 30).forEach(this::generateEvent);
 
         // When & Then
-        this.mockMvc.perform(get("/api/events")
+        performAsync(get("/api/events")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .param("page", "1")
                 .param("size", "10")
@@ -316,6 +387,148 @@ public class EventControllerTests extends BaseTestContoller {
         ;
     }
 
+    @Test
+    @TestDescription("30개의 이벤트를 count 쿼리 없이(Slice) 10개씩 두번째 페이지 조회하기")
+    public void queryEventsBySlice() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        performAsync(get("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
+                .param("slice", "true")
+                .param("page", "1")
+                .param("size", "10")
+                .param("sort", "name,DESC"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.size").value(10))
+                .andExpect(jsonPath("page.number").value(1))
+                .andExpect(jsonPath("page.totalElements").doesNotExist())
+                .andExpect(jsonPath("page.totalPages").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andExpect(jsonPath("_links.create-event").exists())
+                .andDo(document("query-events-slice"))
+        ;
+    }
+
+    @Test
+    @TestDescription("Slice 조회시 마지막 페이지에는 next 링크가 없다")
+    public void queryEventsBySlice_LastPage() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        performAsync(get("/api/events")
+                .param("slice", "true")
+                .param("page", "2")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next").doesNotExist())
+                .andExpect(jsonPath("_links.prev").exists())
+        ;
+    }
+
+    @Test
+    @TestDescription("30개의 이벤트를 커서(keyset) 방식으로 10개씩 조회하기")
+    public void queryEventsBySeek() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        // next/prev 링크는 요청 주소(query string)로 만들어지므로 파라미터를 주소에 넣는다.
+        String firstPage = performAsync(get("/api/events?after=&size=10&sort=name,DESC"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 9"))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").doesNotExist())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String next = JsonPath.read(firstPage, "_links.next.href");
+
+        String secondPage = performAsync(get(URI.create(next)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 26"))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andDo(document("query-events-seek"))
+                .andReturn().getResponse().getContentAsString();
+
+        String prev = JsonPath.read(secondPage, "_links.prev.href");
+
+        performAsync(get(URI.create(prev)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 9"))
+                .andExpect(jsonPath("_links.prev").doesNotExist())
+        ;
+    }
+
+    @Test
+    @TestDescription("잘못된 커서로 조회하면 400 응답 받기")
+    public void queryEventsBySeek_Bad_Cursor() throws Exception {
+
+        performAsync(get("/api/events")
+                .param("after", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("_links.index").exists())
+        ;
+    }
+
+    @Test
+    @TestDescription("전체 이벤트를 NDJSON 으로 내보내기")
+    public void exportEvents() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(EventExporter.NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(30);
+        assertThat(this.objectMapper.readTree(lines[0]).get("name").asText()).isEqualTo("event 0");
+    }
+
+    @Test
+    @TestDescription("updatedSince 이후에 저장된 이벤트만 내보내기")
+    public void exportEvents_UpdatedSince() throws Exception {
+        // Given
+        IntStream.range(0, 5).forEach(this::generateEvent);
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export")
+                    .param("updatedSince", LocalDateTime.now().plusDays(1).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @TestDescription("기존의 이벤트를 하나 조회하기")
     public void getEvent() throws Exception{
@@ -325,7 +538,7 @@ public class EventControllerTests extends BaseTestContoller {
         Event event = this.generateEvent(100, account);
 
         //When & Then
-        this.mockMvc.perform(get("/api/events/{id}",event.getId()))
+        performAsync(get("/api/events/{id}",event.getId()))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("name").exists())
@@ -419,11 +632,33 @@ public class EventControllerTests extends BaseTestContoller {
         ;
     }
 
+    @Test
+    @TestDescription("ETag 가 같으면 본문 없이 304 응답 받기")
+    public void getEvent_Not_Modified() throws Exception{
+
+        // Given
+        Event event = this.generateEvent(100);
+
+        String eTag = performAsync(get("/api/events/{id}",event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        performAsync(get("/api/events/{id}",event.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""))
+        ;
+    }
+
     @Test
     @TestDescription("없는 이벤트를 조회 했을때 404 응답 받기")
     public void getEvent404() throws Exception{
 
-        this.mockMvc.perform(get("/api/events/12321321"))
+        performAsync(get("/api/events/12321321"))
                     .andExpect(status().isNotFound())
         ;
 
@@ -443,7 +678,7 @@ public class EventControllerTests extends BaseTestContoller {
         eventDto.setName(eventName);
 
         //When && Then
-        this.mockMvc.perform(put("/api/events/{id}",event.getId())
+        performAsync(put("/api/events/{id}",event.getId())
                             .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
                             .contentType(MediaType.APPLICATION_JSON_UTF8)
                             .content(this.objectMapper.writeValueAsString(eventDto)))
@@ -456,6 +691,122 @@ public class EventControllerTests extends BaseTestContoller {
 
     }
 
+    @Test
+    @TestDescription("저장이 제한 시간 안에 끝나지 않으면 다시 요청하라고 하지 않고 504 응답 받기")
+    public void updateEvent_Timeout() throws Exception{
+
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("updated event");
+
+        //When && Then
+        withBusyExecutor(true, () -> performAsync(put("/api/events/{id}",event.getId())
+                            .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
+                            .contentType(MediaType.APPLICATION_JSON_UTF8)
+                            .content(this.objectMapper.writeValueAsString(eventDto)))
+                            .andExpect(status().isGatewayTimeout())
+                            .andExpect(header().doesNotExist(HttpHeaders.RETRY_AFTER)));
+
+        // 큐에서 기다리다가 제한 시간이 지난 작업은 실행되지 않는다.
+        assertThat(this.eventRepository.findById(event.getId()).get().getName()).isEqualTo(event.getName());
+    }
+
+    @Test
+    @TestDescription("조회가 제한 시간 안에 끝나지 않으면 Retry-After 와 함께 503 응답 받기")
+    public void getEvent_Timeout() throws Exception{
+
+        // Given
+        Event event = this.generateEvent(100);
+
+        //When && Then
+        withBusyExecutor(false, () -> performAsync(get("/api/events/{id}", event.getId()))
+                            .andExpect(status().isServiceUnavailable())
+                            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1")));
+    }
+
+    /*
+        스레드 하나가 막혀 있는 작업 풀로 잠시 바꿔서 요청이 큐에서 기다리다가 제한 시간을 넘기게 한다.
+    */
+    private void withBusyExecutor(boolean write, Callable<?> request) throws Exception {
+        RequestExecutor original = write ? eventController.eventWriteExecutor : eventController.eventReadExecutor;
+        RequestExecutor busy = new RequestExecutor("busy", 1, 1, Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        busy.supply(() -> {
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        if (write) {
+            eventController.eventWriteExecutor = busy;
+        } else {
+            eventController.eventReadExecutor = busy;
+        }
+        try {
+            request.call();
+        } finally {
+            if (write) {
+                eventController.eventWriteExecutor = original;
+            } else {
+                eventController.eventReadExecutor = original;
+            }
+            release.countDown();
+            busy.close();
+        }
+    }
+
+    @Test
+    @TestDescription("If-Match 로 보낸 버전이 맞으면 수정하고 새 ETag 받기")
+    public void updateEvent_If_Match() throws Exception{
+
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("updated event");
+
+        String eTag = "\"" + event.getVersion() + "\"";
+
+        //When && Then
+        performAsync(put("/api/events/{id}",event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(eTag)))
+        ;
+    }
+
+    @Test
+    @TestDescription("If-Match 로 보낸 버전이 다르면 412 응답 받기")
+    public void updateEvent412() throws Exception{
+
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("updated event");
+
+        //When && Then
+        performAsync(put("/api/events/{id}",event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
+                .header(HttpHeaders.IF_MATCH, "\"" + (event.getVersion() + 1) + "\"")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+        ;
+
+        assertThat(this.eventRepository.findById(event.getId()).get().getName()).isEqualTo(event.getName());
+    }
+
     @Test
     @TestDescription("입력값이 잘못된 경우에 이벤트 수정 실패")
     public void updateEvent400_Empty() throws Exception{
@@ -465,7 +816,7 @@ public class EventControllerTests extends BaseTestContoller {
         EventDto eventDto = new EventDto();
 
         //When && Then
-        this.mockMvc.perform(put("/api/events/{id}",event.getId())
+        performAsync(put("/api/events/{id}",event.getId())
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
                 .content(this.objectMapper.writeValueAsString(eventDto)))
@@ -486,7 +837,7 @@ public class EventControllerTests extends BaseTestContoller {
         eventDto.setMaxPrice(1000);
 
         //When && Then
-        this.mockMvc.perform(put("/api/events/{id}",event.getId())
+        performAsync(put("/api/events/{id}",event.getId())
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
                 .content(this.objectMapper.writeValueAsString(eventDto)))
@@ -504,7 +855,7 @@ public class EventControllerTests extends BaseTestContoller {
         EventDto eventDto = this.modelMapper.map(event, EventDto.class);
 
         //When && Then
-        this.mockMvc.perform(put("/api/events/123123")
+        performAsync(put("/api/events/123123")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
                 .content(this.objectMapper.writeValueAsString(eventDto)))
@@ -513,6 +864,246 @@ public class EventControllerTests extends BaseTestContoller {
         ;
     }
 
+    @Test
+    @TestDescription("필터 조건으로 이벤트 목록 조회하기")
+    public void queryEvents_Filter() throws Exception {
+
+        // Given
+        IntStream.range(0, 10).forEach(i -> {
+            Event event = buildEvent(i);
+            event.setEventStatus(i % 2 == 0 ? EventStatus.PUBLISHED : EventStatus.DRAFT);
+            event.setBasePrice(i * 100);
+            event.setMaxPrice(1000);
+            this.eventRepository.save(event);
+        });
+
+        // When & Then
+        // 링크에 필터가 유지되는지 보려면 파라미터가 요청 주소(query string)에 있어야 한다.
+        performAsync(get("/api/events?eventStatus=PUBLISHED&basePriceFrom=200&basePriceTo=600"
+                    + "&beginEventFrom=2018-11-01T00:00:00&sort=basePrice,ASC"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(3))
+                .andExpect(jsonPath("_embedded.eventList[*].basePrice", Matchers.contains(200, 400, 600)))
+                .andExpect(jsonPath("_links.self.href", Matchers.containsString("eventStatus=PUBLISHED")))
+                .andDo(document("query-events-filter",
+                        requestParameters(
+                                parameterWithName("eventStatus").description("이벤트 상태"),
+                                parameterWithName("basePriceFrom").description("최소 기본 가격 (포함)"),
+                                parameterWithName("basePriceTo").description("최대 기본 가격 (포함)"),
+                                parameterWithName("beginEventFrom").description("이벤트 시작 일시 하한 (포함)"),
+                                parameterWithName("sort").description("정렬")
+                        )))
+        ;
+
+        performAsync(get("/api/events")
+                    .param("eventStatus", "PUBLISHED")
+                    .param("slice", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(5));
+
+        performAsync(get("/api/events")
+                    .param("basePriceTo", "300")
+                    .param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(4));
+    }
+
+    @Test
+    @TestDescription("잘못된 필터 값으로 조회하면 400")
+    public void queryEvents_Filter_Bad_Request() throws Exception {
+
+        performAsync(get("/api/events")
+                    .param("eventStatus", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /*
+        매니저가 모두 다른 이벤트 목록이어도 SQL 문 개수가 일정해야 한다. (매니저/권한을 따로 select 하지 않음)
+    */
+    @Test
+    @TestDescription("이벤트 목록 조회의 SQL 문 개수가 매니저 수와 상관없이 일정하다")
+    public void queryEvents_Statement_Budget() throws Exception {
+
+        // Given
+        IntStream.range(0, 30).forEach(i -> this.generateEvent(i, this.accountRepository.save(Account.builder()
+                .email("manager" + i + "@email.com")
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build())));
+
+        // When & Then
+        // 페이지 select + count
+        this.statementCounter.assertAtMost(2, () -> performAsync(get("/api/events")
+                    .param("page", "1")
+                    .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].manager.id").exists()));
+
+        this.statementCounter.assertAtMost(1, () -> performAsync(get("/api/events")
+                    .param("slice", "true")
+                    .param("size", "10"))
+                .andExpect(status().isOk()));
+
+        this.statementCounter.assertAtMost(1, () -> performAsync(get("/api/events")
+                    .param("after", "")
+                    .param("size", "10"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @TestDescription("이벤트 내보내기의 SQL 문 개수가 건수와 상관없이 일정하다")
+    public void exportEvents_Statement_Budget() throws Exception {
+
+        // Given
+        IntStream.range(0, 30).forEach(i -> this.generateEvent(i, this.accountRepository.save(Account.builder()
+                .email("exporter" + i + "@email.com")
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build())));
+
+        // When & Then
+        this.statementCounter.assertAtMost(1, () -> {
+            MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            this.mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk());
+        });
+    }
+
+    @Test
+    @TestDescription("이름과 설명으로 이벤트를 검색하기 (점수 순서)")
+    public void searchEvents() throws Exception {
+
+        // Given
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(List.of(
+                            searchableEventDto("Kotlin meetup", "Coroutines with Lucene search"),
+                            searchableEventDto("Lucene workshop", "Full text search with Lucene"),
+                            searchableEventDto("Vue.js study", "Frontend basics")))))
+                .andExpect(status().isOk());
+        this.eventTextIndex.awaitRefresh();
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/search")
+                    .param("q", "lucene search")
+                    .param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("Lucene workshop"))
+                .andExpect(jsonPath("page.size").value(1))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("search-events",
+                        requestParameters(
+                                parameterWithName("q").description("검색어 (SimpleQueryParser 문법)"),
+                                parameterWithName("size").description("페이지 크기")
+                        )))
+        ;
+
+        this.mockMvc.perform(get("/api/events/search")
+                    .param("q", "lucene -kotlin"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(1))
+                .andExpect(jsonPath("_links.next").doesNotExist());
+    }
+
+    @Test
+    @TestDescription("수정한 이벤트는 바뀐 이름으로 검색된다")
+    public void searchEvents_After_Update() throws Exception {
+
+        // Given
+        String token = getBearerToken(true);
+        String response = performAsync(post("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, token)
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(searchableEventDto("Gradle night", "Build tools"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Integer id = JsonPath.read(response, "id");
+
+        // When
+        performAsync(put("/api/events/{id}", id)
+                    .header(HttpHeaders.AUTHORIZATION, token)
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(searchableEventDto("Maven night", "Build tools"))))
+                .andExpect(status().isOk());
+        this.eventTextIndex.awaitRefresh();
+
+        // Then
+        this.mockMvc.perform(get("/api/events/search").param("q", "maven"))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(id));
+        this.mockMvc.perform(get("/api/events/search").param("q", "gradle"))
+                .andExpect(jsonPath("_embedded").doesNotExist());
+    }
+
+    @Test
+    @TestDescription("접두어로 이벤트를 검색하기")
+    public void searchEvents_Prefix() throws Exception {
+
+        // Given
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(List.of(
+                            searchableEventDto("Kubernetes operators", "Writing controllers"),
+                            searchableEventDto("Kubeflow pipelines", "Machine learning"),
+                            searchableEventDto("Kotlin meetup", "Coroutines")))))
+                .andExpect(status().isOk());
+        this.eventTextIndex.awaitRefresh();
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/search").param("q", "Kube*"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(2));
+
+        // 접두어 필드보다 긴 접두어
+        this.mockMvc.perform(get("/api/events/search").param("q", "kubernete*"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("Kubernetes operators"));
+    }
+
+    @Test
+    @TestDescription("검색 결과 앞쪽 범위를 넘는 페이지는 400")
+    public void searchEvents_Page_Too_Deep() throws Exception {
+
+        this.mockMvc.perform(get("/api/events/search?q=lucene&page=2147483647&size=20"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongValue"));
+
+        this.mockMvc.perform(get("/api/events/search?q=lucene&page=499&size=20"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @TestDescription("검색어가 비어있으면 400")
+    public void searchEvents_Blank_Query() throws Exception {
+
+        this.mockMvc.perform(get("/api/events/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private EventDto searchableEventDto(String name, String description) {
+        return EventDto.builder()
+                .name(name)
+                .description(description)
+                .beginEnrollmentDateTime(LocalDateTime.of(2019,7,11,4,30))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019,7,12,4,30))
+                .beginEventDateTime(LocalDateTime.of(2019,7,13,4,30))
+                .endEventDateTime(LocalDateTime.of(2019,7,14,4,30))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타트업 팩토리")
+                .build();
+    }
+
     private Event generateEvent(int index, Account account) {
         Event event = buildEvent(index);
         event.setManager(account);
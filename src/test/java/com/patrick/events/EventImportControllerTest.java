@@ -0,0 +1,308 @@
+package com.patrick.events;
+
+import com.jayway.jsonpath.JsonPath;
+import com.patrick.accounts.Account;
+import com.patrick.accounts.AccountRepository;
+import com.patrick.accounts.AccountRole;
+import com.patrick.accounts.AccountService;
+import com.patrick.common.BaseTestContoller;
+import com.patrick.common.TestDescription;
+import com.patrick.config.AppProperties;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class EventImportControllerTest extends BaseTestContoller {
+
+    private static final String VALID_EVENT = "{\"name\":\"Spring\",\"description\":\"REST API\","
+            + "\"beginEnrollmentDateTime\":\"2019-07-11T04:30:00\",\"closeEnrollmentDateTime\":\"2019-07-12T04:30:00\","
+            + "\"beginEventDateTime\":\"2019-07-13T04:30:00\",\"endEventDateTime\":\"2019-07-14T04:30:00\","
+            + "\"basePrice\":100,\"maxPrice\":200,\"limitOfEnrollment\":100,\"location\":\"강남역\"}";
+
+    private static final String WRONG_PRICE_EVENT = VALID_EVENT.replace("\"basePrice\":100", "\"basePrice\":10000");
+
+    // 검증은 통과하지만 name 컬럼(255자)에 들어가지 않아서 저장할 때 실패한다.
+    private static final String TOO_LONG_NAME_EVENT = VALID_EVENT.replace("\"name\":\"Spring\"", "\"name\":\"" + "x".repeat(300) + "\"");
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    EventImportService eventImportService;
+
+    @Before
+    public void setUp(){
+        this.eventRepository.deleteAll();
+    }
+
+    private String getBearerToken() throws Exception {
+        String email = "import-test@email.com";
+
+        if (this.accountRepository.findByEmail(email).isEmpty()) {
+            this.accountService.saveAccount(Account.builder()
+                    .email(email)
+                    .password("pass")
+                    .roles(Set.of(AccountRole.USER))
+                    .build());
+        }
+
+        String responseBody = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                .param("username", email)
+                .param("password", "pass")
+                .param("grant_type", "password"))
+                .andReturn().getResponse().getContentAsString();
+
+        return "Bearer " + new Jackson2JsonParser().parseMap(responseBody).get("access_token");
+    }
+
+    /*
+        import 는 뒤에서 진행되므로 RUNNING 이 아닐 때까지 Location 을 조회한다.
+    */
+    private String awaitImport(String location, String token) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String response = this.mockMvc.perform(get(URI.create(location))
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            if (!"RUNNING".equals(JsonPath.read(response, "status"))) {
+                return response;
+            }
+            assertThat(System.currentTimeMillis()).as("import did not finish: %s", response).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @TestDescription("NDJSON 파일에서 올바른 레코드만 저장하고 실패한 레코드는 에러 리포트로 받기")
+    public void importNdjson() throws Exception {
+
+        String token = getBearerToken();
+        String body = String.join("\n", VALID_EVENT, "{ not json", "", WRONG_PRICE_EVENT, VALID_EVENT) + "\n";
+
+        String location = this.mockMvc.perform(post("/api/events/import")
+                    .header(HttpHeaders.AUTHORIZATION, token)
+                    .contentType(EventExporter.NDJSON_VALUE)
+                    .content(body))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("status").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        String response = awaitImport(location, token);
+        assertThat(JsonPath.<String>read(response, "status")).isEqualTo("COMPLETED");
+        assertThat(JsonPath.<Integer>read(response, "read")).isEqualTo(4);
+        assertThat(JsonPath.<Integer>read(response, "imported")).isEqualTo(2);
+        assertThat(JsonPath.<Integer>read(response, "failed")).isEqualTo(2);
+        assertThat(JsonPath.<String>read(response, "_links.errors.href")).isNotEmpty();
+
+        assertThat(this.eventRepository.count()).isEqualTo(2);
+
+        String errors = this.mockMvc.perform(get(URI.create(JsonPath.read(response, "_links.errors.href")))
+                    .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = errors.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(this.objectMapper.readTree(lines[0]).get("record").asLong()).isEqualTo(2);
+        assertThat(this.objectMapper.readTree(lines[1]).get("record").asLong()).isEqualTo(4);
+        assertThat(this.objectMapper.readTree(lines[1]).get("errors").isArray()).isTrue();
+    }
+
+    @Test
+    @TestDescription("CSV 파일에서 이벤트 가져오기")
+    public void importCsv() throws Exception {
+
+        String body = "name,description,beginEnrollmentDateTime,closeEnrollmentDateTime,beginEventDateTime,endEventDateTime,location,basePrice,maxPrice,limitOfEnrollment\n"
+                + "Spring,REST API,2019-07-11T04:30:00,2019-07-12T04:30:00,2019-07-13T04:30:00,2019-07-14T04:30:00,강남역,100,200,100\n"
+                + "Spring,REST API,not-a-date,2019-07-12T04:30:00,2019-07-13T04:30:00,2019-07-14T04:30:00,,0,0,100\n"
+                + "Vue,Online,2019-07-11T04:30:00,2019-07-12T04:30:00,2019-07-13T04:30:00,2019-07-14T04:30:00,,0,0,100\n";
+
+        String token = getBearerToken();
+        String location = this.mockMvc.perform(post("/api/events/import")
+                    .header(HttpHeaders.AUTHORIZATION, token)
+                    .contentType(EventImportService.CSV_VALUE)
+                    .content(body))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        String response = awaitImport(location, token);
+        assertThat(JsonPath.<Integer>read(response, "read")).isEqualTo(3);
+        assertThat(JsonPath.<Integer>read(response, "imported")).isEqualTo(2);
+        assertThat(JsonPath.<Integer>read(response, "failed")).isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("저장에 실패한 chunk 만 롤백되고 다음 chunk 는 계속 저장하기")
+    public void importContinuesAfterFailedChunk() throws Exception {
+
+        String token = getBearerToken();
+        int chunkSize = this.appProperties.getEventImportChunkSize();
+        this.appProperties.setEventImportChunkSize(2);
+        try {
+            // chunk 1 = 1, 2번 레코드 (2번이 저장 실패), chunk 2 = 3, 4번 레코드
+            String body = String.join("\n", VALID_EVENT, TOO_LONG_NAME_EVENT, VALID_EVENT, VALID_EVENT) + "\n";
+
+            String location = this.mockMvc.perform(post("/api/events/import")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(EventExporter.NDJSON_VALUE)
+                        .content(body))
+                    .andExpect(status().isAccepted())
+                    .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+            String response = awaitImport(location, token);
+            assertThat(JsonPath.<String>read(response, "status")).isEqualTo("COMPLETED");
+            assertThat(JsonPath.<Integer>read(response, "imported")).isEqualTo(2);
+            assertThat(JsonPath.<Integer>read(response, "failed")).isEqualTo(2);
+            assertThat(this.eventRepository.count()).isEqualTo(2);
+
+            String errors = this.mockMvc.perform(get(URI.create(JsonPath.read(response, "_links.errors.href")))
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            String[] lines = errors.split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(this.objectMapper.readTree(lines[0]).get("record").asLong()).isEqualTo(1);
+            assertThat(this.objectMapper.readTree(lines[1]).get("record").asLong()).isEqualTo(2);
+            assertThat(this.objectMapper.readTree(lines[1]).get("message").asText()).startsWith("Chunk rolled back");
+        } finally {
+            this.appProperties.setEventImportChunkSize(chunkSize);
+        }
+    }
+
+    @Test
+    @TestDescription("최대 길이보다 긴 NDJSON 줄은 읽지 않고 실패한 레코드로 기록하기")
+    public void importRejectsTooLongLine() throws Exception {
+
+        String token = getBearerToken();
+        int maxLineLength = this.appProperties.getEventImportMaxLineLength();
+        this.appProperties.setEventImportMaxLineLength(VALID_EVENT.length());
+        try {
+            String body = String.join("\n", VALID_EVENT, TOO_LONG_NAME_EVENT, VALID_EVENT) + "\n";
+
+            String location = this.mockMvc.perform(post("/api/events/import")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(EventExporter.NDJSON_VALUE)
+                        .content(body))
+                    .andExpect(status().isAccepted())
+                    .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+            String response = awaitImport(location, token);
+            assertThat(JsonPath.<Integer>read(response, "read")).isEqualTo(3);
+            assertThat(JsonPath.<Integer>read(response, "imported")).isEqualTo(2);
+            assertThat(JsonPath.<Integer>read(response, "failed")).isEqualTo(1);
+
+            String errors = this.mockMvc.perform(get(URI.create(JsonPath.read(response, "_links.errors.href")))
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(this.objectMapper.readTree(errors).get("record").asLong()).isEqualTo(2);
+            assertThat(this.objectMapper.readTree(errors).get("message").asText()).startsWith("Line must not be longer");
+        } finally {
+            this.appProperties.setEventImportMaxLineLength(maxLineLength);
+        }
+    }
+
+    @Test
+    @TestDescription("최대 크기보다 큰 파일은 413 응답 받기")
+    public void importTooLarge() throws Exception {
+
+        String token = getBearerToken();
+        long maxUploadBytes = this.appProperties.getEventImportMaxUploadBytes();
+        this.appProperties.setEventImportMaxUploadBytes(VALID_EVENT.length());
+        try {
+            String body = String.join("\n", VALID_EVENT, VALID_EVENT);
+
+            // Content-Length 로 미리 거절
+            this.mockMvc.perform(post("/api/events/import")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.CONTENT_LENGTH, body.getBytes(StandardCharsets.UTF_8).length)
+                        .contentType(EventExporter.NDJSON_VALUE)
+                        .content(body))
+                    .andDo(print())
+                    .andExpect(status().isPayloadTooLarge())
+                    .andExpect(jsonPath("content[0].code").value("tooLarge"));
+
+            // Content-Length 가 없으면 읽다가 거절
+            this.mockMvc.perform(post("/api/events/import")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(EventExporter.NDJSON_VALUE)
+                        .content(body))
+                    .andExpect(status().isPayloadTooLarge());
+
+            assertThat(this.eventRepository.count()).isZero();
+        } finally {
+            this.appProperties.setEventImportMaxUploadBytes(maxUploadBytes);
+        }
+    }
+
+    @Test
+    @TestDescription("진행 중인 import 는 보관 개수를 넘어도 밀려나지 않는다")
+    public void runningImportsAreNotEvicted() throws Exception {
+
+        getBearerToken();
+        Account manager = this.accountRepository.findByEmail("import-test@email.com").get();
+
+        List<EventImport> started = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            started.add(this.eventImportService.start(manager));
+        }
+
+        for (EventImport eventImport : started) {
+            assertThat(this.eventImportService.find(eventImport.getId())).contains(eventImport);
+            assertThat(eventImport.getErrorReport()).exists();
+        }
+
+        for (EventImport eventImport : started) {
+            this.eventImportService.run(eventImport, new ByteArrayInputStream(new byte[0]), MediaType.parseMediaType(EventExporter.NDJSON_VALUE), manager);
+        }
+        EventImport last = started.get(started.size() - 1);
+        assertThat(this.eventImportService.find(last.getId())).contains(last);
+    }
+
+    @Test
+    @TestDescription("다른 사람의 import 결과는 볼 수 없다")
+    public void getImport404() throws Exception {
+
+        String location = this.mockMvc.perform(post("/api/events/import")
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                    .contentType(EventExporter.NDJSON_VALUE)
+                    .content(VALID_EVENT))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        this.mockMvc.perform(get(URI.create(location)))
+                .andExpect(status().isNotFound());
+    }
+}
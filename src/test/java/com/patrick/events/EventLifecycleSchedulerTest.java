@@ -0,0 +1,151 @@
+package com.patrick.events;
+
+import com.patrick.common.QueryPlans;
+import com.patrick.config.SqlTrace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    백그라운드 tick 과 겹치지 않도록 먼 미래의 시각(NOW)을 현재 시각으로 넘겨서 검사한다.
+*/
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "my-app.sql-trace-slow-threshold-millis=0")
+@ActiveProfiles("test")
+public class EventLifecycleSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2100, 1, 1, 9, 0);
+
+    @Autowired
+    EventLifecycleScheduler scheduler;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    SqlTrace sqlTrace;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private QueryPlans queryPlans;
+
+    @Before
+    public void setUp() {
+        this.queryPlans = new QueryPlans(sqlTrace, jdbcTemplate);
+        this.eventRepository.deleteAll();
+    }
+
+    @After
+    public void tearDown() {
+        this.scheduler.resume(LocalDateTime.now());
+    }
+
+    private Event saveEvent(EventStatus status, LocalDateTime beginEnrollment) {
+        return this.eventRepository.save(Event.builder()
+                .name("lifecycle event")
+                .description("test event")
+                .eventStatus(status)
+                .beginEnrollmentDateTime(beginEnrollment)
+                .closeEnrollmentDateTime(beginEnrollment.plusMinutes(1))
+                .beginEventDateTime(beginEnrollment.plusMinutes(2))
+                .endEventDateTime(beginEnrollment.plusMinutes(3))
+                .build());
+    }
+
+    private Event reload(Event event) {
+        return this.eventRepository.findById(event.getId()).orElseThrow();
+    }
+
+    @Test
+    public void advancePublishedEvent() {
+
+        //Given
+        Event event = saveEvent(EventStatus.PUBLISHED, NOW.plusMinutes(1));
+        this.scheduler.resume(NOW);
+        assertThat(this.scheduler.size()).isEqualTo(4);
+
+        //When
+        this.scheduler.advance(NOW.plusMinutes(1));
+
+        //Then
+        Event began = reload(event);
+        assertThat(began.getEventStatus()).isEqualTo(EventStatus.BEGAN_ENROLLMEND);
+        assertThat(began.getVersion()).isGreaterThan(event.getVersion());
+
+        // 한 tick 사이에 두 단계가 지나면 마지막 단계까지 간다.
+        this.scheduler.advance(NOW.plusMinutes(3).plusSeconds(30));
+        assertThat(reload(event).getEventStatus()).isEqualTo(EventStatus.STARTED);
+        assertThat(this.scheduler.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void keepDraftEvent() {
+
+        //Given
+        Event event = saveEvent(EventStatus.DRAFT, NOW.minusHours(1));
+
+        //When
+        this.scheduler.resume(NOW);
+        this.scheduler.advance(NOW.plusMinutes(1));
+
+        //Then
+        assertThat(reload(event).getEventStatus()).isEqualTo(EventStatus.DRAFT);
+        assertThat(this.scheduler.size()).isZero();
+    }
+
+    @Test
+    public void catchUpOnResume() {
+
+        //Given
+        Event ended = saveEvent(EventStatus.PUBLISHED, NOW.minusHours(1));
+        Event closed = saveEvent(EventStatus.BEGAN_ENROLLMEND, NOW.minusSeconds(90));
+
+        //When
+        this.scheduler.resume(NOW);
+
+        //Then
+        assertThat(reload(ended).getEventStatus()).isEqualTo(EventStatus.ENDED);
+        assertThat(reload(closed).getEventStatus()).isEqualTo(EventStatus.CLOSED_ENROLLMENT);
+        assertThat(this.scheduler.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void scheduleSavedEventInsideLoadedWindow() {
+
+        //Given
+        this.scheduler.resume(NOW);
+        Event event = saveEvent(EventStatus.PUBLISHED, NOW.plusMinutes(10));
+
+        //When
+        this.scheduler.onEventSaved(EventSaved.of(event));
+        this.scheduler.advance(NOW.plusMinutes(11));
+
+        //Then
+        assertThat(reload(event).getEventStatus()).isEqualTo(EventStatus.CLOSED_ENROLLMENT);
+    }
+
+    @Test
+    public void transitionQueriesUseIndex() {
+
+        List<String> plans = this.queryPlans.explain(() -> this.eventRepository.findTransitions(NOW, NOW.plusHours(1)));
+
+        assertThat(plans).hasSize(EventTransition.Step.values().length);
+        for (int i = 0; i < plans.size(); i++) {
+            assertThat(plans.get(i).toLowerCase())
+                    .as("%s transitions must not scan the event table: %s", EventTransition.Step.values()[i], plans.get(i))
+                    .doesNotContain("tablescan");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.patrick.events;
+
+import org.junit.Test;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventMapperTest {
+
+    /*
+        EventDto 로 받지 않고 서버에서 정하는 Event 필드
+    */
+    private static final Set<String> SERVER_MANAGED_FIELDS =
+            Set.of("id", "version", "offline", "free", "manager", "eventStatus", "updatedAt");
+
+    private final EventMapper eventMapper = new EventMapper();
+
+    @Test
+    public void toEvent_mapsEveryDtoField() {
+
+        //Given
+        EventDto eventDto = distinctValues();
+
+        //When
+        Event event = eventMapper.toEvent(eventDto);
+
+        //Then
+        BeanWrapper source = new BeanWrapperImpl(eventDto);
+        BeanWrapper target = new BeanWrapperImpl(event);
+        for (String field : fieldNames(EventDto.class)) {
+            assertThat(target.getPropertyValue(field))
+                    .as("EventMapper does not map EventDto.%s", field)
+                    .isEqualTo(source.getPropertyValue(field));
+        }
+    }
+
+    @Test
+    public void toEventDto_mapsEveryDtoField() {
+
+        //Given
+        EventDto eventDto = distinctValues();
+
+        //When
+        EventDto mapped = eventMapper.toEventDto(eventMapper.toEvent(eventDto));
+
+        //Then
+        assertThat(mapped).isEqualTo(eventDto);
+    }
+
+    @Test
+    public void everyEventFieldIsMappedOrServerManaged() {
+
+        List<String> unmapped = fieldNames(Event.class).stream()
+                .filter(f -> !SERVER_MANAGED_FIELDS.contains(f))
+                .filter(f -> !fieldNames(EventDto.class).contains(f))
+                .collect(Collectors.toList());
+
+        assertThat(unmapped).as("Event fields missing from EventDto/EventMapper").isEmpty();
+    }
+
+    @Test
+    public void update_recomputesFreeAndOffline() {
+
+        //Given
+        Event event = Event.builder().basePrice(100).maxPrice(200).location("강남").build();
+        event.update();
+        EventDto eventDto = EventDto.builder().basePrice(0).maxPrice(0).location(null).build();
+
+        //When
+        eventMapper.update(eventDto, event);
+
+        //Then
+        assertThat(event.isFree()).isTrue();
+        assertThat(event.isOffline()).isFalse();
+    }
+
+    private EventDto distinctValues() {
+        EventDto eventDto = new EventDto();
+        BeanWrapper wrapper = new BeanWrapperImpl(eventDto);
+
+        int i = 1;
+        for (Field field : fields(EventDto.class)) {
+            Class<?> type = field.getType();
+            if (type == String.class) {
+                wrapper.setPropertyValue(field.getName(), field.getName());
+            } else if (type == int.class) {
+                wrapper.setPropertyValue(field.getName(), i * 10);
+            } else if (type == LocalDateTime.class) {
+                wrapper.setPropertyValue(field.getName(), LocalDateTime.of(2019, 7, i, 4, 30));
+            } else {
+                throw new IllegalStateException("No sample value for " + type + " " + field.getName());
+            }
+            i++;
+        }
+        return eventDto;
+    }
+
+    private static List<String> fieldNames(Class<?> type) {
+        return fields(type).stream().map(Field::getName).collect(Collectors.toList());
+    }
+
+    private static List<Field> fields(Class<?> type) {
+        return Arrays.stream(type.getDeclaredFields())
+                .filter(f -> !Modifier.isStatic(f.getModifiers()))
+                .filter(f -> !f.isSynthetic())
+                .collect(Collectors.toList());
+    }
+}
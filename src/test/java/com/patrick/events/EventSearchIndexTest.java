@@ -0,0 +1,114 @@
+package com.patrick.events;
+
+import com.patrick.common.QueryPlans;
+import com.patrick.config.SqlTrace;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    EventSearchCondition 의 필터마다 EventSpecifications 가 만든 SQL 의 H2 실행 계획이 인덱스를 타는지 검사한다.
+    필터를 추가했는데 여기에 조건을 추가하지 않거나, 인덱스가 없어서 테이블 전체를 읽으면 실패한다.
+*/
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "my-app.sql-trace-slow-threshold-millis=0")
+@ActiveProfiles("test")
+public class EventSearchIndexTest {
+
+    private static final LocalDateTime DATE_TIME = LocalDateTime.of(2019, 7, 1, 0, 0);
+
+    /*
+        필터 이름 -> 그 필터 하나만 채운 조건
+    */
+    private static final Map<String, EventSearchCondition> FILTER_CONDITIONS = new LinkedHashMap<>();
+
+    static {
+        FILTER_CONDITIONS.put("eventStatus", EventSearchCondition.builder().eventStatus(EventStatus.PUBLISHED).build());
+        FILTER_CONDITIONS.put("free", EventSearchCondition.builder().free(true).build());
+        FILTER_CONDITIONS.put("offline", EventSearchCondition.builder().offline(true).build());
+        FILTER_CONDITIONS.put("managerId", EventSearchCondition.builder().managerId(1).build());
+        FILTER_CONDITIONS.put("basePriceFrom", EventSearchCondition.builder().basePriceFrom(100).build());
+        FILTER_CONDITIONS.put("basePriceTo", EventSearchCondition.builder().basePriceTo(100).build());
+        FILTER_CONDITIONS.put("beginEnrollmentFrom", EventSearchCondition.builder().beginEnrollmentFrom(DATE_TIME).build());
+        FILTER_CONDITIONS.put("beginEnrollmentTo", EventSearchCondition.builder().beginEnrollmentTo(DATE_TIME).build());
+        FILTER_CONDITIONS.put("beginEventFrom", EventSearchCondition.builder().beginEventFrom(DATE_TIME).build());
+        FILTER_CONDITIONS.put("beginEventTo", EventSearchCondition.builder().beginEventTo(DATE_TIME).build());
+    }
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    SqlTrace sqlTrace;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private QueryPlans queryPlans;
+
+    @Before
+    public void setUp() {
+        this.queryPlans = new QueryPlans(sqlTrace, jdbcTemplate);
+    }
+
+    @Test
+    public void everyFilterHasCondition() {
+
+        Set<String> filters = Arrays.stream(EventSearchCondition.class.getDeclaredFields())
+                .filter(f -> !Modifier.isStatic(f.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+
+        assertThat(FILTER_CONDITIONS.keySet()).containsExactlyInAnyOrderElementsOf(filters);
+    }
+
+    @Test
+    public void everyFilterUsesIndex() {
+
+        FILTER_CONDITIONS.forEach((filter, condition) -> {
+            String plan = explain(condition);
+
+            assertThat(plan.toLowerCase())
+                    .as("%s filter must not scan the event table: %s", filter, plan)
+                    .doesNotContain("tablescan");
+        });
+    }
+
+    @Test
+    public void statusAndBeginEventUseCompositeIndex() {
+
+        String plan = explain(EventSearchCondition.builder()
+                .eventStatus(EventStatus.PUBLISHED)
+                .beginEventFrom(DATE_TIME)
+                .build());
+
+        assertThat(plan.toLowerCase()).contains("idx_event_status_begin_event");
+    }
+
+    /*
+        첫 번째 SELECT 가 event 를 찾는 문장이다. (뒤따르는 manager 조회 등은 기본 키로 찾는다)
+    */
+    private String explain(EventSearchCondition condition) {
+        List<String> plans = queryPlans.explain(() -> eventRepository.findAll(EventSpecifications.matches(condition)));
+
+        assertThat(plans).isNotEmpty();
+        return plans.get(0);
+    }
+}
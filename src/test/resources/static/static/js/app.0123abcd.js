@@ -0,0 +1,100 @@
+var event0={id:0,name:"event 0",status:"DRAFT"};
+var event1={id:1,name:"event 1",status:"DRAFT"};
+var event2={id:2,name:"event 2",status:"DRAFT"};
+var event3={id:3,name:"event 3",status:"DRAFT"};
+var event4={id:4,name:"event 4",status:"DRAFT"};
+var event5={id:5,name:"event 5",status:"DRAFT"};
+var event6={id:6,name:"event 6",status:"DRAFT"};
+var event7={id:7,name:"event 7",status:"DRAFT"};
+var event8={id:8,name:"event 8",status:"DRAFT"};
+var event9={id:9,name:"event 9",status:"DRAFT"};
+var event10={id:10,name:"event 10",status:"DRAFT"};
+var event11={id:11,name:"event 11",status:"DRAFT"};
+var event12={id:12,name:"event 12",status:"DRAFT"};
+var event13={id:13,name:"event 13",status:"DRAFT"};
+var event14={id:14,name:"event 14",status:"DRAFT"};
+var event15={id:15,name:"event 15",status:"DRAFT"};
+var event16={id:16,name:"event 16",status:"DRAFT"};
+var event17={id:17,name:"event 17",status:"DRAFT"};
+var event18={id:18,name:"event 18",status:"DRAFT"};
+var event19={id:19,name:"event 19",status:"DRAFT"};
+var event20={id:20,name:"event 20",status:"DRAFT"};
+var event21={id:21,name:"event 21",status:"DRAFT"};
+var event22={id:22,name:"event 22",status:"DRAFT"};
+var event23={id:23,name:"event 23",status:"DRAFT"};
+var event24={id:24,name:"event 24",status:"DRAFT"};
+var event25={id:25,name:"event 25",status:"DRAFT"};
+var event26={id:26,name:"event 26",status:"DRAFT"};
+var event27={id:27,name:"event 27",status:"DRAFT"};
+var event28={id:28,name:"event 28",status:"DRAFT"};
+var event29={id:29,name:"event 29",status:"DRAFT"};
+var event30={id:30,name:"event 30",status:"DRAFT"};
+var event31={id:31,name:"event 31",status:"DRAFT"};
+var event32={id:32,name:"event 32",status:"DRAFT"};
+var event33={id:33,name:"event 33",status:"DRAFT"};
+var event34={id:34,name:"event 34",status:"DRAFT"};
+var event35={id:35,name:"event 35",status:"DRAFT"};
+var event36={id:36,name:"event 36",status:"DRAFT"};
+var event37={id:37,name:"event 37",status:"DRAFT"};
+var event38={id:38,name:"event 38",status:"DRAFT"};
+var event39={id:39,name:"event 39",status:"DRAFT"};
+var event40={id:40,name:"event 40",status:"DRAFT"};
+var event41={id:41,name:"event 41",status:"DRAFT"};
+var event42={id:42,name:"event 42",status:"DRAFT"};
+var event43={id:43,name:"event 43",status:"DRAFT"};
+var event44={id:44,name:"event 44",status:"DRAFT"};
+var event45={id:45,name:"event 45",status:"DRAFT"};
+var event46={id:46,name:"event 46",status:"DRAFT"};
+var event47={id:47,name:"event 47",status:"DRAFT"};
+var event48={id:48,name:"event 48",status:"DRAFT"};
+var event49={id:49,name:"event 49",status:"DRAFT"};
+var event50={id:50,name:"event 50",status:"DRAFT"};
+var event51={id:51,name:"event 51",status:"DRAFT"};
+var event52={id:52,name:"event 52",status:"DRAFT"};
+var event53={id:53,name:"event 53",status:"DRAFT"};
+var event54={id:54,name:"event 54",status:"DRAFT"};
+var event55={id:55,name:"event 55",status:"DRAFT"};
+var event56={id:56,name:"event 56",status:"DRAFT"};
+var event57={id:57,name:"event 57",status:"DRAFT"};
+var event58={id:58,name:"event 58",status:"DRAFT"};
+var event59={id:59,name:"event 59",status:"DRAFT"};
+var event60={id:60,name:"event 60",status:"DRAFT"};
+var event61={id:61,name:"event 61",status:"DRAFT"};
+var event62={id:62,name:"event 62",status:"DRAFT"};
+var event63={id:63,name:"event 63",status:"DRAFT"};
+var event64={id:64,name:"event 64",status:"DRAFT"};
+var event65={id:65,name:"event 65",status:"DRAFT"};
+var event66={id:66,name:"event 66",status:"DRAFT"};
+var event67={id:67,name:"event 67",status:"DRAFT"};
+var event68={id:68,name:"event 68",status:"DRAFT"};
+var event69={id:69,name:"event 69",status:"DRAFT"};
+var event70={id:70,name:"event 70",status:"DRAFT"};
+var event71={id:71,name:"event 71",status:"DRAFT"};
+var event72={id:72,name:"event 72",status:"DRAFT"};
+var event73={id:73,name:"event 73",status:"DRAFT"};
+var event74={id:74,name:"event 74",status:"DRAFT"};
+var event75={id:75,name:"event 75",status:"DRAFT"};
+var event76={id:76,name:"event 76",status:"DRAFT"};
+var event77={id:77,name:"event 77",status:"DRAFT"};
+var event78={id:78,name:"event 78",status:"DRAFT"};
+var event79={id:79,name:"event 79",status:"DRAFT"};
+var event80={id:80,name:"event 80",status:"DRAFT"};
+var event81={id:81,name:"event 81",status:"DRAFT"};
+var event82={id:82,name:"event 82",status:"DRAFT"};
+var event83={id:83,name:"event 83",status:"DRAFT"};
+var event84={id:84,name:"event 84",status:"DRAFT"};
+var event85={id:85,name:"event 85",status:"DRAFT"};
+var event86={id:86,name:"event 86",status:"DRAFT"};
+var event87={id:87,name:"event 87",status:"DRAFT"};
+var event88={id:88,name:"event 88",status:"DRAFT"};
+var event89={id:89,name:"event 89",status:"DRAFT"};
+var event90={id:90,name:"event 90",status:"DRAFT"};
+var event91={id:91,name:"event 91",status:"DRAFT"};
+var event92={id:92,name:"event 92",status:"DRAFT"};
+var event93={id:93,name:"event 93",status:"DRAFT"};
+var event94={id:94,name:"event 94",status:"DRAFT"};
+var event95={id:95,name:"event 95",status:"DRAFT"};
+var event96={id:96,name:"event 96",status:"DRAFT"};
+var event97={id:97,name:"event 97",status:"DRAFT"};
+var event98={id:98,name:"event 98",status:"DRAFT"};
+var event99={id:99,name:"event 99",status:"DRAFT"};